@@ -0,0 +1,65 @@
+package com.hospital.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints the score change between two JMH JSON result files, e.g. from two commits:
+ * {@code java -cp target/benchmarks.jar com.hospital.benchmarks.CompareResults base.json new.json}.
+ * For time-per-operation modes a negative change is an improvement.
+ */
+public final class CompareResults {
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <base.json> <new.json>");
+            System.exit(2);
+        }
+
+        Map<String, JsonNode> base = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "Benchmark", "Base", "New", "Change", "Unit");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode metric = entry.getValue().path("primaryMetric");
+            double score = metric.path("score").asDouble();
+            JsonNode previous = base.get(entry.getKey());
+            if (previous == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new",
+                        metric.path("scoreUnit").asText());
+                continue;
+            }
+            double baseScore = previous.path("primaryMetric").path("score").asDouble();
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%n", entry.getKey(), baseScore, score,
+                    (score - baseScore) / baseScore * 100, metric.path("scoreUnit").asText());
+        }
+        for (String key : base.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-70s %14s %14s %9s%n", key, "", "-", "removed");
+            }
+        }
+    }
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.hospital.benchmarks.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
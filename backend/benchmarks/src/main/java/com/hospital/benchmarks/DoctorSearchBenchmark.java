@@ -0,0 +1,85 @@
+package com.hospital.benchmarks;
+
+import com.hospital.management.dto.DoctorSearchRequest;
+import com.hospital.management.dto.DoctorSearchResponse;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.service.DoctorSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public doctor search over a directory of the size patients search, from a rare name to a word every
+ * doctor has. Each search also counts the specialization and day facets of all its matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoctorSearchBenchmark {
+    @Param({"50000"})
+    private int doctors;
+
+    private DoctorSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new DoctorSearchIndex();
+        Fixtures.doctorDirectory(doctors).forEach(index::index);
+    }
+
+    @Benchmark
+    public DoctorSearchResponse rareName() {
+        return index.search(request("sharma"));
+    }
+
+    @Benchmark
+    public DoctorSearchResponse specializationPrefix() {
+        return index.search(request("card"));
+    }
+
+    @Benchmark
+    public DoctorSearchResponse twoWords() {
+        return index.search(request("viral fever"));
+    }
+
+    @Benchmark
+    public DoctorSearchResponse wordWithFilters() {
+        DoctorSearchRequest request = request("priya");
+        request.setDay(Doctor.DayOfWeek.MONDAY);
+        request.setMaxFee(800.0);
+        return index.search(request);
+    }
+
+    @Benchmark
+    public DoctorSearchResponse everyDoctor() {
+        return index.search(request("mbbs"));
+    }
+
+    @Benchmark
+    public DoctorSearchResponse filtersOnly() {
+        DoctorSearchRequest request = request(null);
+        request.setSpecialization(Doctor.Specialization.NEUROLOGY);
+        request.setMinExperience(10);
+        return index.search(request);
+    }
+
+    @Benchmark
+    public DoctorSearchResponse noQuery() {
+        return index.search(request(null));
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return index.suggest("ca", 10);
+    }
+
+    private static DoctorSearchRequest request(String q) {
+        DoctorSearchRequest request = new DoctorSearchRequest();
+        request.setQ(q);
+        return request;
+    }
+}
@@ -0,0 +1,150 @@
+package com.hospital.benchmarks;
+
+import com.hospital.management.dto.AppointmentView;
+import com.hospital.management.dto.DoctorView;
+import com.hospital.management.dto.MedicationView;
+import com.hospital.management.dto.PrescriptionView;
+import com.hospital.management.model.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Sample entity graphs and read models shaped like the data the endpoints serve.
+ */
+public final class Fixtures {
+    public static final String JWT_SECRET = "YourJwtSecretKeyHereMakeItLongAndSecureForProductionUse";
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2030, 1, 7, 8, 30);
+
+    private Fixtures() {
+    }
+
+    public static User user(long id, String firstName, String lastName, Role.ERole... roles) {
+        User user = new User(firstName, lastName, firstName.toLowerCase() + "." + lastName.toLowerCase() + "@example.com",
+                "9876543210", "$2a$10$7EqJtq98hPqEX7fNZaFWoO5bq9GKgpL6Rw6SJ8n0y5b1tDS0P0M3a", User.Gender.FEMALE);
+        user.setId(id);
+        int roleId = 1;
+        for (Role.ERole role : roles) {
+            user.getRoles().add(new Role(roleId++, role));
+        }
+        user.setCreatedAt(CREATED_AT);
+        user.setUpdatedAt(CREATED_AT);
+        return user;
+    }
+
+    public static Doctor doctor() {
+        Doctor doctor = new Doctor();
+        doctor.setId(7L);
+        doctor.setUser(user(2L, "Meera", "Iyer", Role.ERole.ROLE_DOCTOR));
+        doctor.setSpecialization(Doctor.Specialization.CARDIOLOGY);
+        doctor.setConsultationFees(800.0);
+        doctor.setAvailableDays(EnumSet.of(Doctor.DayOfWeek.MONDAY, Doctor.DayOfWeek.WEDNESDAY, Doctor.DayOfWeek.FRIDAY));
+        doctor.setAvailableTimeSlots(Set.of("09:00-10:00", "10:00-11:00", "11:00-12:00", "14:00-15:00"));
+        doctor.setExperience(12);
+        doctor.setEducation("MBBS, MD Cardiology");
+        doctor.setBiography("Interventional cardiologist with a focus on arrhythmia and preventive care.");
+        doctor.setCreatedAt(CREATED_AT);
+        doctor.setUpdatedAt(CREATED_AT);
+        return doctor;
+    }
+
+    public static Patient patient() {
+        Patient patient = new Patient();
+        patient.setId(11L);
+        patient.setUser(user(3L, "Arjun", "Rao", Role.ERole.ROLE_PATIENT));
+        patient.setDateOfBirth(LocalDate.of(1988, 4, 12));
+        patient.setBloodGroup(Patient.BloodGroup.O_POSITIVE);
+        patient.setAllergies("Penicillin");
+        patient.setMedicalHistory("Hypertension since 2019, controlled with medication.");
+        patient.setCreatedAt(CREATED_AT);
+        patient.setUpdatedAt(CREATED_AT);
+        return patient;
+    }
+
+    public static Appointment appointment() {
+        Appointment appointment = new Appointment();
+        appointment.setId(101L);
+        appointment.setPatient(patient());
+        appointment.setDoctor(doctor());
+        appointment.setAppointmentDate(LocalDate.of(2030, 1, 7));
+        appointment.setAppointmentTime(LocalTime.of(9, 0));
+        appointment.setConsultationFees(800.0);
+        appointment.setReason("Chest pain on exertion");
+        appointment.setNotes("Bring previous ECG reports");
+        appointment.setCreatedAt(CREATED_AT);
+        appointment.setUpdatedAt(CREATED_AT);
+        return appointment;
+    }
+
+    public static AppointmentView appointmentView(long id) {
+        return new AppointmentView(id, LocalDate.of(2030, 1, 7), LocalTime.of(9, 0),
+                Appointment.AppointmentStatus.SCHEDULED, 800.0, "Chest pain on exertion", "Bring previous ECG reports",
+                11L, 3L, "Arjun", "Rao", 7L, 2L, "Meera", "Iyer", Doctor.Specialization.CARDIOLOGY, CREATED_AT);
+    }
+
+    public static List<AppointmentView> appointmentPage(int size) {
+        List<AppointmentView> page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            page.add(appointmentView(101L + i));
+        }
+        return page;
+    }
+
+    public static DoctorView doctorView() {
+        return DoctorView.from(doctor());
+    }
+
+    /**
+     * A doctor directory with the names, specializations and texts {@code DataGenerator} writes.
+     */
+    public static List<DoctorView> doctorDirectory(int size) {
+        String[] firstNames = {"Aarav", "Vivaan", "Aditya", "Arjun", "Ishaan", "Ananya", "Diya", "Saanvi", "Meera",
+                "Rahul", "Priya", "Rohan", "Kavya", "Neha", "Amit", "Sneha", "Karan", "Pooja", "Vikram", "Sara"};
+        String[] lastNames = {"Sharma", "Verma", "Iyer", "Reddy", "Patel", "Gupta", "Rao", "Nair", "Singh", "Kumar",
+                "Das", "Mehta", "Joshi", "Kulkarni", "Menon", "Chopra", "Bose", "Pillai", "Shah", "Jain"};
+        String[] diagnoses = {"viral fever", "upper respiratory tract infection", "hypertension",
+                "type 2 diabetes mellitus", "gastritis", "migraine", "allergic dermatitis", "osteoarthritis",
+                "iron deficiency anaemia", "lumbar strain", "stable angina", "bronchial asthma"};
+        Doctor.Specialization[] specializations = Doctor.Specialization.values();
+        User.Gender[] genders = User.Gender.values();
+        Random random = new Random(42);
+
+        List<DoctorView> doctors = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Doctor.Specialization specialization = specializations[(int) (id % specializations.length)];
+            Set<Doctor.DayOfWeek> days = EnumSet.noneOf(Doctor.DayOfWeek.class);
+            for (Doctor.DayOfWeek day : Doctor.DayOfWeek.values()) {
+                if (random.nextInt(3) > 0) {
+                    days.add(day);
+                }
+            }
+            doctors.add(new DoctorView(id, 1000 + id, firstNames[random.nextInt(firstNames.length)],
+                    lastNames[random.nextInt(lastNames.length)], "doctor" + id + "@example.com", "9876543210",
+                    genders[random.nextInt(genders.length)], specialization, 300.0 + (id * 37 % 12) * 50,
+                    1 + random.nextInt(35), "MBBS, MD " + specialization.name().toLowerCase().replace('_', ' '),
+                    "Consultant with an interest in " + diagnoses[random.nextInt(diagnoses.length)]
+                            + " and preventive care.",
+                    days, Set.of("09:00-10:00", "10:00-11:00")));
+        }
+        return doctors;
+    }
+
+    public static PrescriptionView prescriptionView(int medications) {
+        PrescriptionView view = new PrescriptionView(201L, 101L, 11L, 3L, "Arjun", "Rao", 7L, 2L, "Meera", "Iyer",
+                Doctor.Specialization.CARDIOLOGY, "Stable angina",
+                "Avoid strenuous activity. Low salt diet. Report any chest pain at rest immediately.",
+                LocalDate.of(2030, 2, 7), false, CREATED_AT);
+        for (int i = 0; i < medications; i++) {
+            view.medications().add(new MedicationView(300L + i, 201L, "Medication " + (i + 1), "75 mg",
+                    "Once daily", "30 days", i % 2 == 0 ? "After breakfast" : null));
+        }
+        return view;
+    }
+}
@@ -0,0 +1,80 @@
+package com.hospital.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hospital.management.dto.AppointmentView;
+import com.hospital.management.dto.DoctorView;
+import com.hospital.management.dto.PrescriptionView;
+import com.hospital.management.model.Appointment;
+import com.hospital.management.model.Doctor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with an ObjectMapper configured like Spring Boot's, comparing the entity
+ * graphs the endpoints used to return with the read models they return now. The Prescription entity
+ * itself is not serializable (Medication points back to it), so only its view is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    private ObjectWriter writer;
+    private Appointment appointment;
+    private AppointmentView appointmentView;
+    private List<AppointmentView> appointmentPage;
+    private Doctor doctor;
+    private DoctorView doctorView;
+    private PrescriptionView prescriptionView;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        appointment = Fixtures.appointment();
+        appointmentView = Fixtures.appointmentView(101L);
+        appointmentPage = Fixtures.appointmentPage(20);
+        doctor = Fixtures.doctor();
+        doctorView = Fixtures.doctorView();
+        prescriptionView = Fixtures.prescriptionView(5);
+    }
+
+    @Benchmark
+    public byte[] appointmentEntity() throws JsonProcessingException {
+        return writer.writeValueAsBytes(appointment);
+    }
+
+    @Benchmark
+    public byte[] appointmentView() throws JsonProcessingException {
+        return writer.writeValueAsBytes(appointmentView);
+    }
+
+    @Benchmark
+    public byte[] appointmentViewPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(appointmentPage);
+    }
+
+    @Benchmark
+    public byte[] doctorEntity() throws JsonProcessingException {
+        return writer.writeValueAsBytes(doctor);
+    }
+
+    @Benchmark
+    public byte[] doctorView() throws JsonProcessingException {
+        return writer.writeValueAsBytes(doctorView);
+    }
+
+    @Benchmark
+    public byte[] prescriptionView() throws JsonProcessingException {
+        return writer.writeValueAsBytes(prescriptionView);
+    }
+}
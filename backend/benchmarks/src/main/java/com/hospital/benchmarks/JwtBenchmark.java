@@ -0,0 +1,81 @@
+package com.hospital.benchmarks;
+
+import com.hospital.management.model.Role;
+import com.hospital.management.security.jwt.JwtUtils;
+import com.hospital.management.security.jwt.TokenVersionRegistry;
+import com.hospital.management.security.jwt.VerifiedTokenCache;
+import com.hospital.management.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login and the three ways a bearer token is turned into a principal:
+ * full verification, verification plus claim mapping (stateless mode), and a verified-token cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    private JwtUtils jwtUtils;
+    private VerifiedTokenCache tokenCache;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", Fixtures.JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtKeyId", "primary");
+        ReflectionTestUtils.setField(jwtUtils, "jwtRetiredKeys", "");
+        ReflectionTestUtils.setField(jwtUtils, "jwtLegacyKeyId", "primary");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.setField(jwtUtils, "tokenVersionRegistry", tokenVersionRegistry);
+        ReflectionTestUtils.setField(jwtUtils, "meterRegistry", meterRegistry);
+        jwtUtils.init();
+
+        UserDetailsImpl principal = UserDetailsImpl.build(Fixtures.user(3L, "Arjun", "Rao", Role.ERole.ROLE_PATIENT));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = jwtUtils.generateJwtToken(authentication);
+
+        tokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(tokenCache, "enabled", true);
+        ReflectionTestUtils.setField(tokenCache, "maxSize", 10000);
+        ReflectionTestUtils.setField(tokenCache, "tokenVersionRegistry", tokenVersionRegistry);
+        ReflectionTestUtils.setField(tokenCache, "meterRegistry", meterRegistry);
+        tokenCache.init();
+        Claims claims = jwtUtils.parseAndValidate(token);
+        tokenCache.put(token, jwtUtils.getUserDetailsFromJwtClaims(claims), claims);
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public UserDetailsImpl principalFromClaims() {
+        return jwtUtils.getUserDetailsFromJwtClaims(jwtUtils.parseAndValidate(token));
+    }
+
+    @Benchmark
+    public UserDetailsImpl principalFromCache() {
+        return tokenCache.get(token);
+    }
+}
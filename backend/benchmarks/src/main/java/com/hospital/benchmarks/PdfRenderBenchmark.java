@@ -0,0 +1,57 @@
+package com.hospital.benchmarks;
+
+import com.hospital.management.dto.PrescriptionView;
+import com.hospital.management.service.PrescriptionPdfRenderer;
+import com.itextpdf.text.DocumentException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The iText render behind GET /api/prescriptions/{id}/pdf, on one thread and on several threads
+ * sharing the preloaded template the way the render pool does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfRenderBenchmark {
+    @Param({"1", "10"})
+    public int medications;
+
+    private PrescriptionPdfRenderer renderer;
+    private PrescriptionView prescription;
+
+    @Setup
+    public void setUp() {
+        renderer = new PrescriptionPdfRenderer(new PrescriptionPdfRenderer.Branding("Global Hospitals",
+                "12 Park Street, Pune", "This prescription is computer generated and valid without a stamp.", null));
+        prescription = Fixtures.prescriptionView(medications);
+    }
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int renderSingleThread(Buffer buffer) throws DocumentException {
+        return render(buffer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int renderFourThreads(Buffer buffer) throws DocumentException {
+        return render(buffer);
+    }
+
+    private int render(Buffer buffer) throws DocumentException {
+        buffer.out.reset();
+        renderer.render(prescription, buffer.out);
+        return buffer.out.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.hospital.benchmarks;
+
+import com.hospital.management.model.Role;
+import com.hospital.management.model.User;
+import com.hospital.management.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Principal construction on every authenticated request when stateless JWTs are disabled, and the
+ * role checks controllers make on it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsBenchmark {
+    private User patient;
+    private User staff;
+    private UserDetailsImpl staffPrincipal;
+
+    @Setup
+    public void setUp() {
+        patient = Fixtures.user(3L, "Arjun", "Rao", Role.ERole.ROLE_PATIENT);
+        staff = Fixtures.user(1L, "Admin", "User", Role.ERole.ROLE_ADMIN, Role.ERole.ROLE_DOCTOR, Role.ERole.ROLE_PATIENT);
+        staffPrincipal = UserDetailsImpl.build(staff);
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildSingleRole() {
+        return UserDetailsImpl.build(patient);
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildThreeRoles() {
+        return UserDetailsImpl.build(staff);
+    }
+
+    @Benchmark
+    public boolean roleCheck() {
+        return staffPrincipal.isDoctor();
+    }
+}
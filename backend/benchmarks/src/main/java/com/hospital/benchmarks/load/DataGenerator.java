@@ -0,0 +1,571 @@
+package com.hospital.benchmarks.load;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Fills an empty production-profile database with synthetic hospital data using batched JDBC
+ * inserts. The schema is created by the same Flyway migrations the application runs, so the result
+ * can be opened with {@code --spring.profiles.active=prod --app.data-dir=<dir>}.
+ *
+ * <p>Every generated account uses the password {@value #PASSWORD}: {@code patient<n>@example.com}
+ * for n in 1..patients and {@code doctor<n>@example.com} for n in 1..doctors. Past appointments are
+ * completed or cancelled, and most completed ones have a prescription. Upcoming appointments fill
+ * every other slot, so free slots remain to book.
+ */
+public final class DataGenerator {
+    public static final String PASSWORD = "Passw0rd!";
+
+    static final List<String> OPTIONS = List.of("data-dir", "url", "patients", "doctors", "appointments", "seed",
+            "batch-size");
+
+    // Loaded without foreign keys and secondary indexes, which are rebuilt in one pass afterwards
+    private static final List<String> BULK_TABLES = List.of("APPOINTMENTS", "PRESCRIPTIONS", "MEDICATIONS");
+
+    private static final int SLOTS_PER_DAY = 8;
+    private static final int FIRST_SLOT_HOUR = 9;
+    private static final int MAX_UPCOMING_DAYS = 60;
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh",
+            "Ayaan", "Krishna", "Ishaan", "Ananya", "Diya", "Aadhya", "Saanvi", "Pari", "Anika", "Navya", "Myra",
+            "Sara", "Meera", "Rahul", "Priya", "Rohan", "Kavya", "Neha", "Amit", "Sneha", "Karan", "Pooja", "Vikram"};
+
+    private static final String[] LAST_NAMES = {"Sharma", "Verma", "Iyer", "Reddy", "Patel", "Gupta", "Rao", "Nair",
+            "Singh", "Kumar", "Das", "Mehta", "Joshi", "Kulkarni", "Menon", "Chopra", "Bose", "Pillai", "Shah", "Jain"};
+
+    private static final String[] SPECIALIZATIONS = {"GENERAL_MEDICINE", "CARDIOLOGY", "DERMATOLOGY", "ENDOCRINOLOGY",
+            "GASTROENTEROLOGY", "NEUROLOGY", "OBSTETRICS_GYNECOLOGY", "OPHTHALMOLOGY", "ORTHOPEDICS", "PEDIATRICS",
+            "PSYCHIATRY", "PULMONOLOGY", "RADIOLOGY", "UROLOGY"};
+
+    private static final String[] BLOOD_GROUPS = {"A_POSITIVE", "A_NEGATIVE", "B_POSITIVE", "B_NEGATIVE",
+            "AB_POSITIVE", "AB_NEGATIVE", "O_POSITIVE", "O_NEGATIVE"};
+
+    private static final String[] DAYS = {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY"};
+
+    private static final String[] REASONS = {"Fever and body ache", "Follow-up visit", "Persistent cough",
+            "Routine check-up", "Chest pain on exertion", "Skin rash", "Headache and dizziness", "Joint pain",
+            "Stomach ache", "Blood pressure review", "Diabetes review", "Back pain"};
+
+    private static final String[] DIAGNOSES = {"Viral fever", "Upper respiratory tract infection", "Hypertension",
+            "Type 2 diabetes mellitus", "Gastritis", "Migraine", "Allergic dermatitis", "Osteoarthritis",
+            "Iron deficiency anaemia", "Lumbar strain", "Stable angina", "Bronchial asthma"};
+
+    private static final String[] DRUGS = {"Paracetamol", "Amoxicillin", "Azithromycin", "Metformin", "Amlodipine",
+            "Atorvastatin", "Omeprazole", "Pantoprazole", "Cetirizine", "Montelukast", "Ibuprofen", "Diclofenac",
+            "Losartan", "Telmisartan", "Metoprolol", "Aspirin", "Clopidogrel", "Levothyroxine", "Salbutamol",
+            "Prednisolone", "Doxycycline", "Ciprofloxacin", "Ferrous sulfate", "Folic acid", "Vitamin D3",
+            "Calcium carbonate", "Ondansetron", "Domperidone", "Ranitidine", "Glimepiride", "Insulin glargine",
+            "Hydrochlorothiazide", "Sertraline", "Escitalopram", "Gabapentin", "Tramadol", "Fluconazole",
+            "Mupirocin", "Betamethasone", "Loratadine"};
+
+    private static final String[] DOSAGES = {"250 mg", "500 mg", "650 mg", "5 mg", "10 mg", "20 mg", "40 mg",
+            "75 mg", "1 tablet", "2 puffs"};
+
+    private static final String[] FREQUENCIES = {"Once daily", "Twice daily", "Three times daily",
+            "At bedtime", "As needed"};
+
+    private static final String[] DURATIONS = {"3 days", "5 days", "7 days", "14 days", "30 days", "90 days"};
+
+    private final Connection connection;
+    private final Random random;
+    private final int batchSize;
+    private final LocalDate today = LocalDate.now();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private DataGenerator(Connection connection, long seed, int batchSize) {
+        this.connection = connection;
+        this.random = new Random(seed);
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Options options = new Options(args, Set.copyOf(OPTIONS));
+        Path dataDir = Path.of(options.get("data-dir", "./data")).toAbsolutePath();
+        // Same file the prod profile opens; the cache size only speeds up the load
+        String url = options.get("url", "jdbc:h2:file:" + dataDir.resolve("hmsdb") + ";CACHE_SIZE=262144");
+        int patients = options.getInt("patients", 10_000);
+        int doctors = options.getInt("doctors", 100);
+        long appointments = options.getLong("appointments", 200_000);
+
+        Flyway.configure().dataSource(url, "sa", "password").load().migrate();
+
+        long started = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "password")) {
+            connection.setAutoCommit(false);
+            DataGenerator generator = new DataGenerator(connection, options.getLong("seed", 42),
+                    options.getInt("batch-size", 1000));
+            generator.generate(patients, doctors, appointments);
+        }
+        System.out.printf("Done in %d s%n", (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private void generate(int patients, int doctors, long appointments) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+            rs.next();
+            if (rs.getLong(1) > 0) {
+                throw new IllegalStateException("The database already has users; point --data-dir at an empty directory");
+            }
+        }
+
+        insertRoles();
+        String passwordHash = new BCryptPasswordEncoder(10).encode(PASSWORD);
+        insertUsers(patients, doctors, passwordHash);
+        insertDoctors(patients, doctors);
+        insertPatients(patients);
+        int drugCatalogStart = insertCatalog();
+        List<String> deferred = dropIndexes(BULK_TABLES);
+        insertAppointments(patients, doctors, appointments, drugCatalogStart);
+        recreate(deferred);
+
+        // Let the application's own id generators continue after the generated rows
+        restartIdentity("users", patients + doctors + 1);
+        restartIdentity("doctors", doctors + 1);
+        restartIdentity("patients", patients + 1);
+        restartIdentity("medication_catalog", DRUGS.length + DOSAGES.length + FREQUENCIES.length + DURATIONS.length + 1);
+        restartSequence("appointments_seq", "appointments");
+        restartSequence("prescriptions_seq", "prescriptions");
+        restartSequence("medications_seq", "medications");
+        connection.commit();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private void insertRoles() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO roles (id, name) VALUES (?, ?)")) {
+            String[] roles = {"ROLE_ADMIN", "ROLE_DOCTOR", "ROLE_PATIENT"};
+            for (int i = 0; i < roles.length; i++) {
+                insert.setInt(1, i + 1);
+                insert.setString(2, roles[i]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        restartIdentity("roles", 4);
+        connection.commit();
+    }
+
+    // Patients get user ids 1..patients, doctors the ids after them
+    private void insertUsers(int patients, int doctors, String passwordHash) throws SQLException {
+        Progress progress = new Progress("users", patients + doctors);
+        try (PreparedStatement user = connection.prepareStatement("INSERT INTO users (id, first_name, last_name, "
+                + "email, phone, password, gender, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement role = connection.prepareStatement(
+                     "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)")) {
+            for (int id = 1; id <= patients + doctors; id++) {
+                boolean doctor = id > patients;
+                String email = doctor ? "doctor" + (id - patients) + "@example.com" : "patient" + id + "@example.com";
+                Timestamp created = Timestamp.valueOf(now.minusDays(random.nextInt(1000)));
+                user.setLong(1, id);
+                user.setString(2, pick(FIRST_NAMES));
+                user.setString(3, pick(LAST_NAMES));
+                user.setString(4, email);
+                user.setString(5, String.format("9%09d", random.nextInt(1_000_000_000)));
+                user.setString(6, passwordHash);
+                user.setString(7, random.nextInt(100) < 49 ? "MALE" : random.nextInt(100) < 97 ? "FEMALE" : "OTHER");
+                user.setTimestamp(8, created);
+                user.setTimestamp(9, created);
+                user.addBatch();
+                role.setLong(1, id);
+                role.setInt(2, doctor ? 2 : 3);
+                role.addBatch();
+                if (id % batchSize == 0) {
+                    user.executeBatch();
+                    role.executeBatch();
+                    progress.advance(batchSize, connection);
+                }
+            }
+            user.executeBatch();
+            role.executeBatch();
+        }
+        progress.done(connection);
+    }
+
+    private void insertDoctors(int patients, int doctors) throws SQLException {
+        Progress progress = new Progress("doctors", doctors);
+        try (PreparedStatement doctor = connection.prepareStatement("INSERT INTO doctors (id, user_id, specialization, "
+                + "consultation_fees, experience, education, biography, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement day = connection.prepareStatement(
+                     "INSERT INTO doctor_available_days (doctor_id, available_days) VALUES (?, ?)");
+             PreparedStatement slot = connection.prepareStatement(
+                     "INSERT INTO doctor_available_time_slots (doctor_id, available_time_slots) VALUES (?, ?)")) {
+            for (int id = 1; id <= doctors; id++) {
+                String specialization = SPECIALIZATIONS[id % SPECIALIZATIONS.length];
+                Timestamp created = Timestamp.valueOf(now.minusDays(1000));
+                doctor.setLong(1, id);
+                doctor.setLong(2, patients + id);
+                doctor.setString(3, specialization);
+                doctor.setDouble(4, doctorFee(id));
+                doctor.setInt(5, 1 + random.nextInt(35));
+                doctor.setString(6, "MBBS, MD " + specialization.charAt(0)
+                        + specialization.substring(1).toLowerCase(Locale.ROOT).replace('_', ' '));
+                doctor.setString(7, "Consultant with an interest in " + pick(DIAGNOSES).toLowerCase(Locale.ROOT)
+                        + " and preventive care.");
+                doctor.setTimestamp(8, created);
+                doctor.setTimestamp(9, created);
+                doctor.addBatch();
+                for (String name : DAYS) {
+                    day.setLong(1, id);
+                    day.setString(2, name);
+                    day.addBatch();
+                }
+                for (int s = 0; s < SLOTS_PER_DAY; s++) {
+                    slot.setLong(1, id);
+                    slot.setString(2, String.format("%02d:00-%02d:00", FIRST_SLOT_HOUR + s, FIRST_SLOT_HOUR + s + 1));
+                    slot.addBatch();
+                }
+                if (id % batchSize == 0) {
+                    doctor.executeBatch();
+                    day.executeBatch();
+                    slot.executeBatch();
+                    progress.advance(batchSize, connection);
+                }
+            }
+            doctor.executeBatch();
+            day.executeBatch();
+            slot.executeBatch();
+        }
+        progress.done(connection);
+    }
+
+    private void insertPatients(int patients) throws SQLException {
+        Progress progress = new Progress("patients", patients);
+        try (PreparedStatement patient = connection.prepareStatement("INSERT INTO patients (id, user_id, "
+                + "date_of_birth, blood_group, allergies, medical_history, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= patients; id++) {
+                Timestamp created = Timestamp.valueOf(now.minusDays(random.nextInt(1000)));
+                patient.setLong(1, id);
+                patient.setLong(2, id);
+                patient.setDate(3, Date.valueOf(today.minusDays(365L + random.nextInt(80 * 365))));
+                patient.setString(4, pick(BLOOD_GROUPS));
+                patient.setString(5, random.nextInt(10) == 0 ? pick(DRUGS) : null);
+                patient.setString(6, random.nextInt(4) == 0 ? pick(DIAGNOSES) + " since " + (2000 + random.nextInt(25)) : null);
+                patient.setTimestamp(7, created);
+                patient.setTimestamp(8, created);
+                patient.addBatch();
+                if (id % batchSize == 0) {
+                    patient.executeBatch();
+                    progress.advance(batchSize, connection);
+                }
+            }
+            patient.executeBatch();
+        }
+        progress.done(connection);
+    }
+
+    /**
+     * Fills the medication catalog, so the application does not have to backfill millions of rows at
+     * startup. Returns the id of the first drug entry; drug i has id start + i.
+     */
+    private int insertCatalog() throws SQLException {
+        int id = 1;
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO medication_catalog "
+                + "(id, kind, name, normalized_name, created_at) VALUES (?, ?, ?, ?, ?)")) {
+            String[][] values = {DRUGS, DOSAGES, FREQUENCIES, DURATIONS};
+            String[] kinds = {"DRUG", "DOSAGE", "FREQUENCY", "DURATION"};
+            for (int k = 0; k < kinds.length; k++) {
+                for (String name : values[k]) {
+                    insert.setLong(1, id++);
+                    insert.setString(2, kinds[k]);
+                    insert.setString(3, name);
+                    insert.setString(4, name.toLowerCase(Locale.ROOT));
+                    insert.setTimestamp(5, Timestamp.valueOf(now));
+                    insert.addBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return 1;
+    }
+
+    /**
+     * Spreads the appointments evenly over the doctors. Each doctor's past working days (Monday to
+     * Saturday) are filled slot by slot going back from yesterday; a tenth of the appointments are
+     * upcoming and take every other slot from tomorrow on.
+     */
+    private void insertAppointments(int patients, int doctors, long appointments, int drugCatalogStart)
+            throws SQLException {
+        long perDoctor = Math.max(1, appointments / doctors);
+        long upcoming = Math.min(perDoctor / 10, (long) MAX_UPCOMING_DAYS * SLOTS_PER_DAY / 2);
+        long past = perDoctor - upcoming;
+        List<LocalDate> pastDays = workingDays(today.minusDays(1), -1, (int) ((past + SLOTS_PER_DAY - 1) / SLOTS_PER_DAY));
+        List<LocalDate> upcomingDays = workingDays(today.plusDays(1), 1,
+                (int) ((upcoming * 2 + SLOTS_PER_DAY - 1) / SLOTS_PER_DAY));
+
+        Progress progress = new Progress("appointments", perDoctor * doctors);
+        long appointmentId = 0;
+        long prescriptionId = 0;
+        long medicationId = 0;
+        long pending = 0;
+        try (PreparedStatement appointment = connection.prepareStatement("INSERT INTO appointments (id, patient_id, "
+                + "doctor_id, appointment_date, appointment_time, consultation_fees, status, slot_active, reason, "
+                + "notes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement prescription = connection.prepareStatement("INSERT INTO prescriptions (id, "
+                     + "appointment_id, patient_id, doctor_id, diagnosis, additional_notes, follow_up_date, is_paid, "
+                     + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement medication = connection.prepareStatement("INSERT INTO medications (id, "
+                     + "prescription_id, catalog_id, name, dosage, frequency, duration, instructions, "
+                     + "dosage_catalog_id, frequency_catalog_id, duration_catalog_id) "
+                     + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int doctor = 1; doctor <= doctors; doctor++) {
+                double fee = doctorFee(doctor);
+                for (long k = 0; k < perDoctor; k++) {
+                    boolean isPast = k < past;
+                    LocalDate date;
+                    int slot;
+                    if (isPast) {
+                        date = pastDays.get((int) (k / SLOTS_PER_DAY));
+                        slot = (int) (k % SLOTS_PER_DAY);
+                    } else {
+                        long u = k - past;
+                        date = upcomingDays.get((int) (u / (SLOTS_PER_DAY / 2)));
+                        slot = (int) (u % (SLOTS_PER_DAY / 2)) * 2;
+                    }
+                    LocalDateTime start = date.atTime(FIRST_SLOT_HOUR + slot, 0);
+                    Timestamp created = Timestamp.valueOf(isPast ? start.minusDays(1 + random.nextInt(14)) : now);
+                    String status = isPast ? pastStatus() : "SCHEDULED";
+                    long patient = 1 + random.nextInt(patients);
+
+                    appointment.setLong(1, ++appointmentId);
+                    appointment.setLong(2, patient);
+                    appointment.setLong(3, doctor);
+                    appointment.setDate(4, Date.valueOf(date));
+                    appointment.setTime(5, Time.valueOf(LocalTime.of(FIRST_SLOT_HOUR + slot, 0)));
+                    appointment.setDouble(6, fee);
+                    appointment.setString(7, status);
+                    if (isPast) {
+                        appointment.setNull(8, Types.BOOLEAN);
+                    } else {
+                        appointment.setBoolean(8, true);
+                    }
+                    appointment.setString(9, pick(REASONS));
+                    appointment.setString(10, random.nextInt(5) == 0 ? "Bring previous reports" : null);
+                    appointment.setTimestamp(11, created);
+                    appointment.setTimestamp(12, isPast ? Timestamp.valueOf(start) : created);
+                    appointment.addBatch();
+
+                    if ("COMPLETED".equals(status) && random.nextInt(10) < 7) {
+                        Timestamp prescribed = Timestamp.valueOf(start.plusMinutes(30));
+                        prescription.setLong(1, ++prescriptionId);
+                        prescription.setLong(2, appointmentId);
+                        prescription.setLong(3, patient);
+                        prescription.setLong(4, doctor);
+                        prescription.setString(5, pick(DIAGNOSES));
+                        prescription.setString(6, random.nextInt(3) == 0 ? "Review if symptoms persist" : null);
+                        prescription.setDate(7, random.nextInt(3) == 0 ? Date.valueOf(date.plusDays(30)) : null);
+                        prescription.setBoolean(8, random.nextInt(10) < 8);
+                        prescription.setTimestamp(9, prescribed);
+                        prescription.setTimestamp(10, prescribed);
+                        prescription.addBatch();
+
+                        int count = 1 + random.nextInt(4);
+                        for (int m = 0; m < count; m++) {
+                            int drug = random.nextInt(DRUGS.length);
+                            int dosage = random.nextInt(DOSAGES.length);
+                            int frequency = random.nextInt(FREQUENCIES.length);
+                            int duration = random.nextInt(DURATIONS.length);
+                            medication.setLong(1, ++medicationId);
+                            medication.setLong(2, prescriptionId);
+                            medication.setLong(3, drugCatalogStart + drug);
+                            medication.setString(4, DRUGS[drug]);
+                            medication.setString(5, DOSAGES[dosage]);
+                            medication.setString(6, FREQUENCIES[frequency]);
+                            medication.setString(7, DURATIONS[duration]);
+                            medication.setString(8, random.nextBoolean() ? "After food" : null);
+                            // Catalog ids run through drugs, dosages, frequencies and durations in turn
+                            int dosageCatalogStart = drugCatalogStart + DRUGS.length;
+                            int frequencyCatalogStart = dosageCatalogStart + DOSAGES.length;
+                            medication.setLong(9, dosageCatalogStart + dosage);
+                            medication.setLong(10, frequencyCatalogStart + frequency);
+                            medication.setLong(11, frequencyCatalogStart + FREQUENCIES.length + duration);
+                            medication.addBatch();
+                        }
+                    }
+
+                    if (++pending == batchSize) {
+                        // Parents first, the foreign keys are checked per statement
+                        appointment.executeBatch();
+                        prescription.executeBatch();
+                        medication.executeBatch();
+                        progress.advance(pending, connection);
+                        pending = 0;
+                    }
+                }
+            }
+            appointment.executeBatch();
+            prescription.executeBatch();
+            medication.executeBatch();
+        }
+        progress.done(connection);
+        System.out.printf("  %d prescriptions, %d medications%n", prescriptionId, medicationId);
+    }
+
+    private String pastStatus() {
+        int roll = random.nextInt(100);
+        return roll < 85 ? "COMPLETED" : roll < 95 ? "CANCELLED_BY_PATIENT" : "CANCELLED_BY_DOCTOR";
+    }
+
+    private static double doctorFee(int doctorId) {
+        return 300 + (doctorId * 37 % 12) * 50;
+    }
+
+    private static List<LocalDate> workingDays(LocalDate from, int step, int count) {
+        List<LocalDate> days = new ArrayList<>(count);
+        for (LocalDate day = from; days.size() < count; day = day.plusDays(step)) {
+            if (day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Drops the foreign keys and non-unique indexes of the tables, as created by the migrations, and
+     * returns the statements that restore them. Unique constraints stay and keep checking the data.
+     */
+    private List<String> dropIndexes(List<String> tables) throws SQLException {
+        String in = "'" + String.join("', '", tables) + "'";
+        List<String> foreignKeys = new ArrayList<>();
+        List<String> drops = new ArrayList<>();
+        Set<String> foreignKeyIndexes = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT tc.CONSTRAINT_NAME, tc.TABLE_NAME, tc.INDEX_NAME, "
+                     + "LISTAGG(kcu.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY kcu.ORDINAL_POSITION), "
+                     + "MAX(ref.TABLE_NAME), LISTAGG(ref.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY kcu.ORDINAL_POSITION) "
+                     + "FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc "
+                     + "JOIN INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS rc ON rc.CONSTRAINT_NAME = tc.CONSTRAINT_NAME "
+                     + "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE kcu ON kcu.CONSTRAINT_NAME = tc.CONSTRAINT_NAME "
+                     + "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE ref ON ref.CONSTRAINT_NAME = rc.UNIQUE_CONSTRAINT_NAME "
+                     + "AND ref.ORDINAL_POSITION = kcu.POSITION_IN_UNIQUE_CONSTRAINT "
+                     + "WHERE tc.CONSTRAINT_TYPE = 'FOREIGN KEY' AND tc.TABLE_NAME IN (" + in + ") "
+                     + "GROUP BY tc.CONSTRAINT_NAME, tc.TABLE_NAME, tc.INDEX_NAME")) {
+            while (rs.next()) {
+                drops.add("ALTER TABLE " + rs.getString(2) + " DROP CONSTRAINT " + rs.getString(1));
+                foreignKeyIndexes.add(rs.getString(3));
+                foreignKeys.add("ALTER TABLE " + rs.getString(2) + " ADD CONSTRAINT " + rs.getString(1)
+                        + " FOREIGN KEY (" + rs.getString(4) + ") REFERENCES " + rs.getString(5)
+                        + " (" + rs.getString(6) + ")");
+            }
+        }
+
+        List<String> restore = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT i.INDEX_NAME, i.TABLE_NAME, "
+                     + "LISTAGG(c.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY c.ORDINAL_POSITION) "
+                     + "FROM INFORMATION_SCHEMA.INDEXES i JOIN INFORMATION_SCHEMA.INDEX_COLUMNS c "
+                     + "ON c.INDEX_NAME = i.INDEX_NAME AND c.TABLE_NAME = i.TABLE_NAME "
+                     + "WHERE i.INDEX_TYPE_NAME = 'INDEX' AND i.TABLE_NAME IN (" + in + ") "
+                     + "GROUP BY i.INDEX_NAME, i.TABLE_NAME")) {
+            while (rs.next()) {
+                // Indexes H2 made for a foreign key go with the constraint
+                if (!foreignKeyIndexes.contains(rs.getString(1))) {
+                    drops.add("DROP INDEX " + rs.getString(1));
+                    restore.add("CREATE INDEX " + rs.getString(1) + " ON " + rs.getString(2)
+                            + " (" + rs.getString(3) + ")");
+                }
+            }
+        }
+        restore.addAll(foreignKeys);
+
+        try (Statement statement = connection.createStatement()) {
+            for (String drop : drops) {
+                statement.execute(drop);
+            }
+        }
+        connection.commit();
+        return restore;
+    }
+
+    private void recreate(List<String> statements) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                long started = System.nanoTime();
+                statement.execute(sql);
+                connection.commit();
+                System.out.printf("  %s (%d s)%n", sql, (System.nanoTime() - started) / 1_000_000_000L);
+            }
+        }
+    }
+
+    private void restartIdentity(String table, long next) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    // Hibernate's pooled optimizer hands out the 50 ids below each sequence value, so leave a gap
+    private void restartSequence(String sequence, String table) throws SQLException {
+        long max;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            max = rs.getLong(1);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (max + 100));
+        }
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Commits every 50k rows and prints the insert rate.
+     */
+    private static final class Progress {
+        private static final long COMMIT_EVERY = 50_000;
+
+        private final String table;
+        private final long total;
+        private final long started = System.nanoTime();
+        private long rows;
+        private long uncommitted;
+
+        Progress(String table, long total) {
+            this.table = table;
+            this.total = total;
+        }
+
+        void advance(long count, Connection connection) throws SQLException {
+            rows += count;
+            uncommitted += count;
+            if (uncommitted >= COMMIT_EVERY) {
+                connection.commit();
+                uncommitted = 0;
+                if (rows % 1_000_000 < COMMIT_EVERY) {
+                    print();
+                }
+            }
+        }
+
+        void done(Connection connection) throws SQLException {
+            connection.commit();
+            rows = total;
+            print();
+        }
+
+        private void print() {
+            double seconds = Math.max(1e-3, (System.nanoTime() - started) / 1e9);
+            System.out.printf("  %-12s %,12d / %,d  (%,.0f rows/s)%n", table, rows, total, rows / seconds);
+        }
+    }
+}
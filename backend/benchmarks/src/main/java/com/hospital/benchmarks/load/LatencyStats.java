@@ -0,0 +1,100 @@
+package com.hospital.benchmarks.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exact per-endpoint latency samples. Endpoints are named by method and URI template, e.g.
+ * {@code PUT /api/appointments/{id}/cancel}.
+ */
+final class LatencyStats {
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, int status) {
+        endpoints.computeIfAbsent(endpoint, name -> new Endpoint()).record(nanos, status);
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.printf("%-48s %8s %7s %8s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Failed", "Req/s",
+                "p50 ms", "p90 ms", "p99 ms", "max ms");
+        long requests = 0;
+        long failed = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Summary s = entry.getValue().summarize();
+            requests += s.count;
+            failed += s.failed;
+            out.printf("%-48s %8d %7d %8.1f %9.1f %9.1f %9.1f %9.1f%n", entry.getKey(), s.count, s.failed,
+                    s.count / seconds, s.p50, s.p90, s.p99, s.max);
+        }
+        out.printf("%-48s %8d %7d %8.1f%n", "Total", requests, failed, requests / seconds);
+    }
+
+    void writeJson(Path file, double seconds) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file)) {
+            out.write("{\n  \"durationSeconds\": " + seconds + ",\n  \"endpoints\": {");
+            boolean first = true;
+            for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+                Summary s = entry.getValue().summarize();
+                out.write((first ? "" : ",") + "\n    \"" + entry.getKey() + "\": {\"requests\": " + s.count
+                        + ", \"failed\": " + s.failed + ", \"throughput\": " + s.count / seconds
+                        + ", \"p50\": " + s.p50 + ", \"p90\": " + s.p90 + ", \"p99\": " + s.p99
+                        + ", \"max\": " + s.max + "}");
+                first = false;
+            }
+            out.write("\n  }\n}\n");
+        }
+    }
+
+    private record Summary(int count, int failed, double p50, double p90, double p99, double max) {
+    }
+
+    private static final class Endpoint {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] samples = new long[1024];
+        private int count;
+        private int failed;
+
+        void record(long nanos, int status) {
+            lock.lock();
+            try {
+                if (count == samples.length) {
+                    samples = Arrays.copyOf(samples, count * 2);
+                }
+                samples[count++] = nanos;
+                // 4xx answers such as a slot taken by another user are expected, only transport errors and 5xx fail
+                if (status <= 0 || status >= 500) {
+                    failed++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Summary summarize() {
+            lock.lock();
+            try {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                return new Summary(count, failed, percentile(sorted, 0.50), percentile(sorted, 0.90),
+                        percentile(sorted, 0.99), count > 0 ? sorted[count - 1] / 1e6 : 0);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.hospital.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.management.HospitalManagementApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures the read listings one request at a time against data made by {@link DataGenerator}: the
+ * public doctor directory, a doctor profile, the admin prescription listing and a doctor's appointment
+ * listing. Prints the uncompressed response size and the latency percentiles of each.
+ *
+ * <p>Only plain GET endpoints that have existed since the first release are called, so the same run
+ * with {@code --target} measures older builds on the same database too.
+ */
+public final class ListingProbe {
+    static final List<String> OPTIONS = List.of("data-dir", "target", "port", "warmup", "requests", "json");
+
+    private static final String ADMIN_EMAIL = "admin@hospital.com";
+    private static final String ADMIN_PASSWORD = "admin123";
+
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Integer> payloadBytes = new LinkedHashMap<>();
+    private LatencyStats stats = new LatencyStats();
+
+    private ListingProbe(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args, Set.copyOf(OPTIONS));
+        int port = options.getInt("port", 8091);
+        String target = options.get("target", null);
+
+        ConfigurableApplicationContext context = null;
+        if (target == null) {
+            List<String> appArgs = new ArrayList<>(options.passThrough());
+            appArgs.add("--spring.profiles.active=prod");
+            appArgs.add("--app.data-dir=" + Path.of(options.get("data-dir", "./data")).toAbsolutePath());
+            appArgs.add("--server.port=" + port);
+            context = SpringApplication.run(HospitalManagementApplication.class, appArgs.toArray(String[]::new));
+            target = "http://localhost:" + port;
+        }
+
+        try {
+            ListingProbe probe = new ListingProbe(target);
+            int requests = options.getInt("requests", 200);
+            long started = System.nanoTime();
+            probe.run(options.getInt("warmup", 20), requests);
+            double elapsed = (System.nanoTime() - started) / 1e9;
+
+            System.out.printf("%n%d sequential requests per endpoint against %s%n%n", requests, target);
+            probe.stats.print(System.out, elapsed);
+            System.out.printf("%n%-48s %12s%n", "Endpoint", "Bytes");
+            probe.payloadBytes.forEach((endpoint, bytes) -> System.out.printf("%-48s %12d%n", endpoint, bytes));
+            String json = options.get("json", null);
+            if (json != null) {
+                probe.stats.writeJson(Path.of(json), elapsed);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private void run(int warmup, int requests) throws IOException, InterruptedException {
+        String adminToken = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+        String doctorToken = login("doctor1@example.com", DataGenerator.PASSWORD);
+        JsonNode doctors = mapper.readTree(get("/api/doctors/public/all", null));
+        long doctorId = doctors.get(0).path("id").asLong();
+
+        Map<String, Request> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /api/doctors/public/all", new Request("/api/doctors/public/all", null));
+        endpoints.put("GET /api/doctors/{id}", new Request("/api/doctors/" + doctorId, adminToken));
+        endpoints.put("GET /api/prescriptions (admin)", new Request("/api/prescriptions", adminToken));
+        endpoints.put("GET /api/appointments (doctor)", new Request("/api/appointments", doctorToken));
+
+        for (Map.Entry<String, Request> endpoint : endpoints.entrySet()) {
+            for (int i = 0; i < warmup; i++) {
+                send(endpoint.getKey(), endpoint.getValue());
+            }
+        }
+        stats = new LatencyStats();
+        for (Map.Entry<String, Request> endpoint : endpoints.entrySet()) {
+            for (int i = 0; i < requests; i++) {
+                int bytes = send(endpoint.getKey(), endpoint.getValue());
+                if (bytes >= 0) {
+                    payloadBytes.put(endpoint.getKey(), bytes);
+                }
+            }
+        }
+    }
+
+    private String login(String email, String password) throws IOException, InterruptedException {
+        byte[] body = mapper.writeValueAsBytes(Map.of("email", email, "password", password));
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login of " + email + " failed with status " + response.statusCode());
+        }
+        return mapper.readTree(response.body()).path("token").asText();
+    }
+
+    private byte[] get(String path, String token) throws IOException, InterruptedException {
+        return client.send(request(path, token), HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    /**
+     * Returns the size of the response body, or -1 if the request failed.
+     */
+    private int send(String endpoint, Request request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request(request.path(), request.token()), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            // E.g. a body that fails to serialize half way and is cut off
+            stats.record(endpoint, System.nanoTime() - start, -1);
+            return -1;
+        }
+        stats.record(endpoint, System.nanoTime() - start, response.statusCode());
+        return response.statusCode() == 200 ? response.body().length : -1;
+    }
+
+    private HttpRequest request(String path, String token) {
+        // No Accept-Encoding, so the sizes are those of the serialized JSON
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(120))
+                .GET();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+
+    private record Request(String path, String token) {
+    }
+}
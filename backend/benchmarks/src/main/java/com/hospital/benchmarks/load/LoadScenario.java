@@ -0,0 +1,285 @@
+package com.hospital.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hospital.management.HospitalManagementApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load test against data made by {@link DataGenerator}. Each virtual user repeats a
+ * session until the time is up. Patients log in, search doctors, book a free slot, look it up, cancel
+ * half of their bookings and download one of their prescriptions. Doctors log in, complete their
+ * earliest scheduled appointment and prescribe for it. Prints throughput and latency percentiles
+ * per endpoint.
+ *
+ * <p>Starts the application in-process with the prod profile on {@code --data-dir}, unless
+ * {@code --target} points at a running server. Unrecognized {@code --spring.*} and {@code --app.*}
+ * options are passed to the embedded application.
+ */
+public final class LoadScenario {
+    static final List<String> OPTIONS = List.of("data-dir", "target", "port", "users", "duration", "doctor-share",
+            "patients", "doctors", "think-ms", "json");
+
+    private static final String[] SPECIALIZATIONS = {"GENERAL_MEDICINE", "CARDIOLOGY", "DERMATOLOGY",
+            "ENDOCRINOLOGY", "GASTROENTEROLOGY", "NEUROLOGY", "OBSTETRICS_GYNECOLOGY", "OPHTHALMOLOGY", "ORTHOPEDICS",
+            "PEDIATRICS", "PSYCHIATRY", "PULMONOLOGY", "RADIOLOGY", "UROLOGY"};
+
+    private final String baseUrl;
+    private final int patients;
+    private final int doctors;
+    private final long thinkMs;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LatencyStats stats = new LatencyStats();
+
+    private LoadScenario(String baseUrl, int patients, int doctors, long thinkMs) {
+        this.baseUrl = baseUrl;
+        this.patients = patients;
+        this.doctors = doctors;
+        this.thinkMs = thinkMs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args, Set.copyOf(OPTIONS));
+        int port = options.getInt("port", 8091);
+        String target = options.get("target", null);
+
+        ConfigurableApplicationContext context = null;
+        if (target == null) {
+            List<String> appArgs = new ArrayList<>(options.passThrough());
+            addDefault(appArgs, "spring.profiles.active", "prod");
+            addDefault(appArgs, "app.data-dir", Path.of(options.get("data-dir", "./data")).toAbsolutePath().toString());
+            addDefault(appArgs, "server.port", String.valueOf(port));
+            context = SpringApplication.run(HospitalManagementApplication.class, appArgs.toArray(String[]::new));
+            target = "http://localhost:" + port;
+        }
+
+        try {
+            LoadScenario scenario = new LoadScenario(target, options.getInt("patients", 10_000),
+                    options.getInt("doctors", 100), options.getLong("think-ms", 0));
+            int users = options.getInt("users", 50);
+            double doctorShare = Double.parseDouble(options.get("doctor-share", "0.2"));
+            long seconds = options.getLong("duration", 60);
+            double elapsed = scenario.run(users, doctorShare, seconds);
+
+            System.out.printf("%n%d users (%d doctors) for %.0f s against %s%n%n", users,
+                    Math.round(users * doctorShare), elapsed, target);
+            scenario.stats.print(System.out, elapsed);
+            String json = options.get("json", null);
+            if (json != null) {
+                scenario.stats.writeJson(Path.of(json), elapsed);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void addDefault(List<String> args, String name, String value) {
+        if (args.stream().noneMatch(arg -> arg.startsWith("--" + name + "="))) {
+            args.add("--" + name + "=" + value);
+        }
+    }
+
+    private double run(int users, double doctorShare, long seconds) throws InterruptedException {
+        int doctorUsers = (int) Math.round(users * doctorShare);
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            boolean doctor = i < doctorUsers;
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        if (doctor) {
+                            doctorSession();
+                        } else {
+                            patientSession();
+                        }
+                    } catch (IOException e) {
+                        // Already recorded as a failed request; start a new session
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 120, TimeUnit.SECONDS);
+        return (System.nanoTime() - started) / 1e9;
+    }
+
+    private void patientSession() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = login("patient" + (1 + random.nextInt(patients)) + "@example.com");
+        if (token == null) {
+            return;
+        }
+
+        String specialization = SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)];
+        JsonNode found = send("GET", "/api/doctors/public/search?limit=20&specialization=" + specialization,
+                "GET /api/doctors/public/search", null, null).json();
+        if (found == null || found.path("doctors").isEmpty()) {
+            return;
+        }
+        JsonNode doctor = found.path("doctors").get(random.nextInt(found.path("doctors").size()));
+        long doctorId = doctor.path("id").asLong();
+        think();
+
+        JsonNode slots = send("GET", "/api/doctors/public/" + doctorId + "/slots",
+                "GET /api/doctors/public/{id}/slots", null, null).json();
+        if (slots != null && !slots.isEmpty()) {
+            JsonNode slot = slots.get(random.nextInt(slots.size()));
+            ObjectNode booking = mapper.createObjectNode()
+                    .put("doctorId", doctorId)
+                    .put("appointmentDate", slot.path("date").asText())
+                    .put("appointmentTime", slot.path("time").asText())
+                    .put("consultationFees", doctor.path("consultationFees").asDouble())
+                    .put("reason", "Load test visit");
+            think();
+            if (send("POST", "/api/appointments", "POST /api/appointments", token, booking).status() == 200) {
+                JsonNode page = send("GET", "/api/appointments?status=SCHEDULED&from=" + slot.path("date").asText()
+                        + "&to=" + slot.path("date").asText(), "GET /api/appointments", token, null).json();
+                Long appointmentId = findAppointment(page, doctorId, slot.path("time").asText());
+                if (appointmentId != null && random.nextBoolean()) {
+                    think();
+                    send("PUT", "/api/appointments/" + appointmentId + "/cancel",
+                            "PUT /api/appointments/{id}/cancel", token, null);
+                }
+            }
+        }
+
+        JsonNode prescriptions = send("GET", "/api/prescriptions", "GET /api/prescriptions", token, null).json();
+        if (prescriptions != null && !prescriptions.isEmpty()) {
+            long prescriptionId = prescriptions.get(random.nextInt(prescriptions.size())).path("id").asLong();
+            think();
+            send("GET", "/api/prescriptions/" + prescriptionId + "/pdf", "GET /api/prescriptions/{id}/pdf",
+                    token, null);
+        }
+    }
+
+    private void doctorSession() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = login("doctor" + (1 + random.nextInt(doctors)) + "@example.com");
+        if (token == null) {
+            return;
+        }
+
+        JsonNode page = send("GET", "/api/appointments?status=SCHEDULED&size=20", "GET /api/appointments",
+                token, null).json();
+        if (page == null || page.path("items").isEmpty()) {
+            return;
+        }
+        long appointmentId = page.path("items").get(0).path("id").asLong();
+        think();
+        if (send("PUT", "/api/appointments/" + appointmentId + "/complete", "PUT /api/appointments/{id}/complete",
+                token, null).status() != 200) {
+            return;
+        }
+
+        ObjectNode prescription = mapper.createObjectNode()
+                .put("appointmentId", appointmentId)
+                .put("diagnosis", "Viral fever")
+                .put("additionalNotes", "Plenty of fluids and rest");
+        ArrayNode medications = prescription.putArray("medications");
+        medications.addObject().put("name", "Paracetamol").put("dosage", "650 mg")
+                .put("frequency", "Three times daily").put("duration", "5 days").put("instructions", "After food");
+        medications.addObject().put("name", "Cetirizine").put("dosage", "10 mg")
+                .put("frequency", "At bedtime").put("duration", "5 days");
+        think();
+        send("POST", "/api/prescriptions", "POST /api/prescriptions", token, prescription);
+    }
+
+    private String login(String email) throws IOException, InterruptedException {
+        ObjectNode body = mapper.createObjectNode().put("email", email).put("password", DataGenerator.PASSWORD);
+        JsonNode response = send("POST", "/api/auth/login", "POST /api/auth/login", null, body).json();
+        return response != null ? response.path("token").asText(null) : null;
+    }
+
+    private static Long findAppointment(JsonNode page, long doctorId, String time) {
+        if (page == null) {
+            return null;
+        }
+        for (JsonNode item : page.path("items")) {
+            if (item.path("doctorId").asLong() == doctorId && item.path("appointmentTime").asText().equals(time)) {
+                return item.path("id").asLong();
+            }
+        }
+        return null;
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMs > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMs / 2, thinkMs * 3 / 2 + 1));
+        }
+    }
+
+    private Response send(String method, String path, String endpoint, String token, JsonNode body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body))
+                        : HttpRequest.BodyPublishers.noBody());
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, -1);
+            throw e;
+        }
+        stats.record(endpoint, System.nanoTime() - start, response.statusCode());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    private final class Response {
+        private final int status;
+        private final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        int status() {
+            return status;
+        }
+
+        JsonNode json() throws IOException {
+            boolean isJson = status == 200 && body.length > 0 && (body[0] == '{' || body[0] == '[');
+            return isJson ? mapper.readTree(body) : null;
+        }
+    }
+}
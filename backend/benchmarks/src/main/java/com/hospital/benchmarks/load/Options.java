@@ -0,0 +1,44 @@
+package com.hospital.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code --name=value} command line options. Options not in the known set are kept in order so they
+ * can be passed on, e.g. to the embedded Spring application.
+ */
+final class Options {
+    private final Map<String, String> values = new HashMap<>();
+    private final List<String> passThrough = new ArrayList<>();
+
+    Options(String[] args, Set<String> known) {
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = arg.startsWith("--") ? arg.substring(2, eq > 0 ? eq : arg.length()) : null;
+            if (name != null && known.contains(name)) {
+                values.put(name, eq > 0 ? arg.substring(eq + 1) : "true");
+            } else {
+                passThrough.add(arg);
+            }
+        }
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name).replace("_", "")) : defaultValue;
+    }
+
+    long getLong(String name, long defaultValue) {
+        return values.containsKey(name) ? Long.parseLong(values.get(name).replace("_", "")) : defaultValue;
+    }
+
+    List<String> passThrough() {
+        return passThrough;
+    }
+}
@@ -0,0 +1,115 @@
+package com.hospital.benchmarks.load;
+
+import com.hospital.management.HospitalManagementApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures the public doctor search one request at a time against data made by {@link DataGenerator},
+ * e.g. with {@code --doctors=50000}. The queries range from a rare name to words every generated doctor
+ * has, so both small and directory-wide result sets are timed, each with its facets.
+ */
+public final class SearchProbe {
+    static final List<String> OPTIONS = List.of("data-dir", "target", "port", "warmup", "requests", "json");
+
+    // Label and query string; the words come from the names and texts DataGenerator writes
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("search q=sharma", "/api/doctors/public/search?q=sharma");
+        QUERIES.put("search q=card", "/api/doctors/public/search?q=card");
+        QUERIES.put("search q=viral fever", "/api/doctors/public/search?q=viral%20fever");
+        QUERIES.put("search q=priya day fee", "/api/doctors/public/search?q=priya&day=MONDAY&maxFee=800");
+        QUERIES.put("search q=mbbs (all)", "/api/doctors/public/search?q=mbbs");
+        QUERIES.put("search filters only", "/api/doctors/public/search?specialization=NEUROLOGY&minExperience=10");
+        QUERIES.put("search no query (all)", "/api/doctors/public/search");
+        QUERIES.put("suggest prefix=ca", "/api/doctors/public/search/suggest?prefix=ca");
+    }
+
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private LatencyStats stats = new LatencyStats();
+
+    private SearchProbe(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args, Set.copyOf(OPTIONS));
+        int port = options.getInt("port", 8091);
+        String target = options.get("target", null);
+
+        ConfigurableApplicationContext context = null;
+        if (target == null) {
+            List<String> appArgs = new ArrayList<>(options.passThrough());
+            appArgs.add("--spring.profiles.active=prod");
+            appArgs.add("--app.data-dir=" + Path.of(options.get("data-dir", "./data")).toAbsolutePath());
+            appArgs.add("--server.port=" + port);
+            context = SpringApplication.run(HospitalManagementApplication.class, appArgs.toArray(String[]::new));
+            target = "http://localhost:" + port;
+        }
+
+        try {
+            SearchProbe probe = new SearchProbe(target);
+            int requests = options.getInt("requests", 1000);
+            long started = System.nanoTime();
+            probe.run(options.getInt("warmup", 200), requests);
+            double elapsed = (System.nanoTime() - started) / 1e9;
+
+            System.out.printf("%n%d sequential requests per query against %s%n%n", requests, target);
+            probe.stats.print(System.out, elapsed);
+            String json = options.get("json", null);
+            if (json != null) {
+                probe.stats.writeJson(Path.of(json), elapsed);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private void run(int warmup, int requests) throws InterruptedException {
+        for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+            for (int i = 0; i < warmup; i++) {
+                send(query.getKey(), query.getValue());
+            }
+        }
+        stats = new LatencyStats();
+        for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+            for (int i = 0; i < requests; i++) {
+                send(query.getKey(), query.getValue());
+            }
+        }
+    }
+
+    private void send(String label, String path) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            stats.record(label, System.nanoTime() - start, response.statusCode());
+        } catch (IOException e) {
+            stats.record(label, System.nanoTime() - start, -1);
+        }
+    }
+}
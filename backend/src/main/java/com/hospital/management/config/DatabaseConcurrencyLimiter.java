@@ -0,0 +1,64 @@
+package com.hospital.management.config;
+
+import com.hospital.management.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits at most as many API requests as there are pooled connections. With open-in-view a request
+ * keeps its connection until the response is written, so anything beyond the pool size would only
+ * queue inside Hikari and fail with a connection timeout. Waiting here instead is cheap on virtual
+ * threads, and a request that cannot get a permit in time gets a {@link ServiceOverloadedException} (503).
+ */
+public class DatabaseConcurrencyLimiter implements HandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = DatabaseConcurrencyLimiter.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public DatabaseConcurrencyLimiter(int maxConcurrent, long acquireTimeoutMs, MeterRegistry meterRegistry) {
+        // Fair, so a burst cannot starve requests that have been waiting longest
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        Gauge.builder("db.concurrency.active", permits, p -> maxConcurrent - p.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("db.concurrency.queued", permits, Semaphore::getQueueLength)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // A forward or error dispatch of a request that already holds a permit
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a database permit", e);
+        }
+        if (!acquired) {
+            throw new ServiceOverloadedException("Server is busy, please retry shortly");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+}
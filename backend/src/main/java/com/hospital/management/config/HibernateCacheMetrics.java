@@ -0,0 +1,73 @@
+package com.hospital.management.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes hits, misses and the hit ratio of every second-level cache region declared in
+ * ehcache.xml, tagged by region. Query result regions only exist after their first use, so the
+ * statistics are looked up on each read and report zero until then.
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+    // Holds per-table write times rather than cached data; it has no hits or misses of its own
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (!sessionFactory.getStatistics().isStatisticsEnabled()
+                || !(sessionFactory.getCache().getRegionFactory() instanceof JCacheRegionFactory regionFactory)) {
+            return;
+        }
+
+        for (String region : regionFactory.getCacheManager().getCacheNames()) {
+            if (region.equals(TIMESTAMPS_REGION)) {
+                continue;
+            }
+            FunctionCounter.builder("hibernate.cache.requests", sessionFactory,
+                            sf -> count(sf, region, CacheRegionStatistics::getHitCount))
+                    .tag("region", region)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.requests", sessionFactory,
+                            sf -> count(sf, region, CacheRegionStatistics::getMissCount))
+                    .tag("region", region)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("hibernate.cache.hit.ratio", sessionFactory, sf -> hitRatio(sf, region))
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    private static double hitRatio(SessionFactoryImplementor sessionFactory, String region) {
+        long hits = count(sessionFactory, region, CacheRegionStatistics::getHitCount);
+        long requests = hits + count(sessionFactory, region, CacheRegionStatistics::getMissCount);
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+
+    private static long count(SessionFactoryImplementor sessionFactory, String region,
+                              ToLongFunction<CacheRegionStatistics> counter) {
+        CacheImplementor cache = sessionFactory.getCache();
+        if (sessionFactory.isClosed() || cache.getRegion(region) == null) {
+            return 0;
+        }
+        CacheRegionStatistics statistics = sessionFactory.getStatistics().getCacheRegionStatistics(region);
+        return statistics != null ? counter.applyAsLong(statistics) : 0;
+    }
+}
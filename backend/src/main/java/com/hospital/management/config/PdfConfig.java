@@ -0,0 +1,42 @@
+package com.hospital.management.config;
+
+import com.hospital.management.service.PrescriptionPdfRenderer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Configuration
+public class PdfConfig {
+    @Value("${app.pdf.branding.name:Global Hospitals}")
+    private String hospitalName;
+
+    @Value("${app.pdf.branding.address:}")
+    private String address;
+
+    @Value("${app.pdf.branding.footer:}")
+    private String footer;
+
+    // Any Spring resource location, e.g. classpath:branding/logo.png or file:/etc/hms/logo.png
+    @Value("${app.pdf.branding.logo:}")
+    private String logoLocation;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Bean
+    public PrescriptionPdfRenderer prescriptionPdfRenderer() throws IOException {
+        byte[] logo = null;
+        if (StringUtils.hasText(logoLocation)) {
+            try (InputStream in = resourceLoader.getResource(logoLocation).getInputStream()) {
+                logo = in.readAllBytes();
+            }
+        }
+        return new PrescriptionPdfRenderer(new PrescriptionPdfRenderer.Branding(hospitalName, address, footer, logo));
+    }
+}
@@ -0,0 +1,34 @@
+package com.hospital.management.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and
+ * {@link #stop()}. Registered through {@code hibernate.session_factory.statement_inspector}; Hibernate
+ * creates the instance itself, so the counter lives in a static thread-local.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Stops counting on this thread and returns the number of statements since {@link #start()}.
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,73 @@
+package com.hospital.management.config;
+
+import com.hospital.management.security.RoleAuthorizationInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private static final Logger logger = LoggerFactory.getLogger(WebConfig.class);
+
+    // On by default whenever requests run on virtual threads, which no longer cap concurrency themselves
+    @Value("${app.db-concurrency.enabled:${spring.threads.virtual.enabled:false}}")
+    private boolean dbConcurrencyEnabled;
+
+    // 0 means the maximum size of the connection pool
+    @Value("${app.db-concurrency.max-concurrent:0}")
+    private int dbMaxConcurrent;
+
+    @Value("${app.db-concurrency.acquire-timeout-ms:3000}")
+    private long dbAcquireTimeoutMs;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            logger.info("Handling requests on virtual threads");
+        }
+
+        // Checked first, so a forbidden request never waits for a database permit
+        registry.addInterceptor(new RoleAuthorizationInterceptor());
+
+        if (!dbConcurrencyEnabled) {
+            return;
+        }
+        int maxConcurrent = dbMaxConcurrent > 0 ? dbMaxConcurrent : poolSize();
+        logger.info("Limiting API requests to {} concurrent database users", maxConcurrent);
+        registry.addInterceptor(new DatabaseConcurrencyLimiter(maxConcurrent, dbAcquireTimeoutMs, meterRegistry))
+                .addPathPatterns("/api/**")
+                // Served from in-memory indexes and caches
+                .excludePathPatterns("/api/doctors/public/**");
+    }
+
+    private int poolSize() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not read the connection pool size", e);
+        }
+        return 10;
+    }
+}
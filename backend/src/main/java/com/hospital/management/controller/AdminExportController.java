@@ -0,0 +1,65 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.model.Role.ERole;
+import com.hospital.management.security.RequireRole;
+import com.hospital.management.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin/export")
+public class AdminExportController {
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/appointments")
+    @RequireRole(ERole.ROLE_ADMIN)
+    public void exportAppointments(@RequestParam(defaultValue = "ndjson") String format,
+                                   HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = parseFormat(format, response);
+        if (exportFormat == null) {
+            return;
+        }
+
+        prepareResponse(response, exportFormat, "appointments");
+        exportService.exportAppointments(exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/prescriptions")
+    @RequireRole(ERole.ROLE_ADMIN)
+    public void exportPrescriptions(@RequestParam(defaultValue = "ndjson") String format,
+                                    HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = parseFormat(format, response);
+        if (exportFormat == null) {
+            return;
+        }
+
+        prepareResponse(response, exportFormat, "prescriptions");
+        exportService.exportPrescriptions(exportFormat, response.getOutputStream());
+    }
+
+    private ExportService.Format parseFormat(String format, HttpServletResponse response) throws IOException {
+        switch (format.toLowerCase()) {
+            case "ndjson":
+                return ExportService.Format.NDJSON;
+            case "csv":
+                return ExportService.Format.CSV;
+            default:
+                response.sendError(400, "Unsupported export format: " + format);
+                return null;
+        }
+    }
+
+    private void prepareResponse(HttpServletResponse response, ExportService.Format format, String name) {
+        String extension = format == ExportService.Format.CSV ? "csv" : "ndjson";
+        response.setContentType(format == ExportService.Format.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=" + name + "_" + LocalDate.now() + "." + extension);
+    }
+}
@@ -1,32 +1,39 @@
 package com.hospital.management.controller;
 
+import com.hospital.management.dto.AppointmentCursor;
 import com.hospital.management.dto.AppointmentRequest;
+import com.hospital.management.dto.AppointmentView;
+import com.hospital.management.dto.CursorPage;
 import com.hospital.management.dto.MessageResponse;
 import com.hospital.management.model.Appointment;
-import com.hospital.management.model.Doctor;
-import com.hospital.management.model.Patient;
+import com.hospital.management.model.Role.ERole;
 import com.hospital.management.model.User;
 import com.hospital.management.repository.AppointmentRepository;
 import com.hospital.management.repository.DoctorRepository;
 import com.hospital.management.repository.PatientRepository;
+import com.hospital.management.security.CurrentUser;
+import com.hospital.management.security.RequireRole;
 import com.hospital.management.security.services.UserDetailsImpl;
+import com.hospital.management.service.AppointmentService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.Optional;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/appointments")
+@Timed(value = "controller.invocations", histogram = true)
 public class AppointmentController {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private AppointmentRepository appointmentRepository;
 
@@ -36,49 +43,68 @@ public class AppointmentController {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private AppointmentService appointmentService;
+
     @GetMapping
-    @PreAuthorize("hasRole('PATIENT') or hasRole('DOCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<List<Appointment>> getAppointments() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        
-        List<Appointment> appointments;
-        
-        if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT"))) {
-            Patient patient = patientRepository.findById(userDetails.getId())
-                    .orElseThrow(() -> new RuntimeException("Patient not found"));
-            appointments = appointmentRepository.findByPatient(patient);
-        } else if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_DOCTOR"))) {
-            Doctor doctor = doctorRepository.findById(userDetails.getId())
-                    .orElseThrow(() -> new RuntimeException("Doctor not found"));
-            appointments = appointmentRepository.findByDoctor(doctor);
-        } else {
-            appointments = appointmentRepository.findAll();
+    @RequireRole({ERole.ROLE_PATIENT, ERole.ROLE_DOCTOR, ERole.ROLE_ADMIN})
+    public ResponseEntity<?> getAppointments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Appointment.AppointmentStatus> status) {
+        UserDetailsImpl userDetails = CurrentUser.get();
+
+        AppointmentCursor after;
+        try {
+            after = cursor != null ? AppointmentCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
-        
-        return ResponseEntity.ok(appointments);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Long patientId = null;
+        Long doctorId = null;
+        if (userDetails.isPatient()) {
+            patientId = patientRepository.findByUserId(userDetails.getId())
+                    .orElseThrow(() -> new RuntimeException("Patient not found"))
+                    .getId();
+        } else if (userDetails.isDoctor()) {
+            doctorId = doctorRepository.findByUserId(userDetails.getId())
+                    .orElseThrow(() -> new RuntimeException("Doctor not found"))
+                    .getId();
+        }
+
+        // Fetch one extra row to know whether another page follows
+        List<AppointmentView> appointments = appointmentRepository.findPage(
+                patientId, doctorId, from, to, status, after, pageSize + 1);
+
+        String nextCursor = null;
+        if (appointments.size() > pageSize) {
+            appointments = appointments.subList(0, pageSize);
+            AppointmentView last = appointments.get(pageSize - 1);
+            nextCursor = new AppointmentCursor(last.appointmentDate(), last.appointmentTime(), last.id()).encode();
+        }
+
+        return ResponseEntity.ok(new CursorPage<>(appointments, nextCursor));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('PATIENT') or hasRole('DOCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<Appointment> getAppointmentById(@PathVariable Long id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+    @RequireRole({ERole.ROLE_PATIENT, ERole.ROLE_DOCTOR, ERole.ROLE_ADMIN})
+    public ResponseEntity<AppointmentView> getAppointmentById(@PathVariable Long id) {
+        UserDetailsImpl userDetails = CurrentUser.get();
         
-        Appointment appointment = appointmentRepository.findById(id)
+        AppointmentView appointment = appointmentRepository.findViewById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
         
         // Check if user has access to this appointment
-        if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT"))) {
-            if (!appointment.getPatient().getUser().getId().equals(userDetails.getId())) {
+        if (userDetails.isPatient()) {
+            if (!appointment.patientUserId().equals(userDetails.getId())) {
                 return ResponseEntity.status(403).build();
             }
-        } else if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_DOCTOR"))) {
-            if (!appointment.getDoctor().getUser().getId().equals(userDetails.getId())) {
+        } else if (userDetails.isDoctor()) {
+            if (!appointment.doctorUserId().equals(userDetails.getId())) {
                 return ResponseEntity.status(403).build();
             }
         }
@@ -87,123 +113,63 @@ public class AppointmentController {
     }
 
     @PostMapping
-    @PreAuthorize("hasRole('PATIENT')")
+    @RequireRole(ERole.ROLE_PATIENT)
     public ResponseEntity<?> createAppointment(@Valid @RequestBody AppointmentRequest appointmentRequest) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        
-        // Get patient
-        Patient patient = patientRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("Patient not found"));
-        
-        // Get doctor
-        Doctor doctor = doctorRepository.findById(appointmentRequest.getDoctorId())
-                .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + appointmentRequest.getDoctorId()));
-        
-        // Check if time slot is available
-        Optional<Appointment> existingAppointment = appointmentRepository.findByDoctorAndAppointmentDateAndAppointmentTimeAndStatus(
-                doctor, 
-                appointmentRequest.getAppointmentDate(), 
-                appointmentRequest.getAppointmentTime(),
-                Appointment.AppointmentStatus.SCHEDULED
-        );
+        UserDetailsImpl userDetails = CurrentUser.get();
         
-        if (existingAppointment.isPresent()) {
+        if (!appointmentService.book(userDetails.getId(), appointmentRequest)) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("This time slot is already booked"));
         }
         
-        // Create appointment
-        Appointment appointment = new Appointment();
-        appointment.setPatient(patient);
-        appointment.setDoctor(doctor);
-        appointment.setAppointmentDate(appointmentRequest.getAppointmentDate());
-        appointment.setAppointmentTime(appointmentRequest.getAppointmentTime());
-        appointment.setConsultationFees(appointmentRequest.getConsultationFees());
-        appointment.setReason(appointmentRequest.getReason());
-        appointment.setNotes(appointmentRequest.getNotes());
-        appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
-        
-        appointmentRepository.save(appointment);
-        
         return ResponseEntity.ok(new MessageResponse("Appointment booked successfully!"));
     }
 
     @PutMapping("/{id}/cancel")
-    @PreAuthorize("hasRole('PATIENT')")
+    @RequireRole(ERole.ROLE_PATIENT)
     public ResponseEntity<?> cancelAppointment(@PathVariable Long id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        UserDetailsImpl userDetails = CurrentUser.get();
         
-        Appointment appointment = appointmentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
-        
-        // Check if user is the patient who booked this appointment
-        if (!appointment.getPatient().getUser().getId().equals(userDetails.getId())) {
-            return ResponseEntity.status(403).build();
-        }
+        AppointmentService.StatusChange change = appointmentService.changeStatusAsPatient(
+                id, userDetails.getId(), Appointment.AppointmentStatus.CANCELLED_BY_PATIENT);
         
-        // Check if appointment can be cancelled
-        if (appointment.getStatus() != Appointment.AppointmentStatus.SCHEDULED) {
-            return ResponseEntity.badRequest()
-                    .body(new MessageResponse("Cannot cancel appointment with status: " + appointment.getStatus()));
-        }
-        
-        appointment.setStatus(Appointment.AppointmentStatus.CANCELLED_BY_PATIENT);
-        appointmentRepository.save(appointment);
-        
-        return ResponseEntity.ok(new MessageResponse("Appointment cancelled successfully!"));
+        return statusChangeResponse(id, change, "cancel", "Appointment cancelled successfully!");
     }
 
     @PutMapping("/{id}/doctor-cancel")
-    @PreAuthorize("hasRole('DOCTOR')")
+    @RequireRole(ERole.ROLE_DOCTOR)
     public ResponseEntity<?> doctorCancelAppointment(@PathVariable Long id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        
-        Appointment appointment = appointmentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
-        
-        // Check if user is the doctor for this appointment
-        if (!appointment.getDoctor().getUser().getId().equals(userDetails.getId())) {
-            return ResponseEntity.status(403).build();
-        }
-        
-        // Check if appointment can be cancelled
-        if (appointment.getStatus() != Appointment.AppointmentStatus.SCHEDULED) {
-            return ResponseEntity.badRequest()
-                    .body(new MessageResponse("Cannot cancel appointment with status: " + appointment.getStatus()));
-        }
+        UserDetailsImpl userDetails = CurrentUser.get();
         
-        appointment.setStatus(Appointment.AppointmentStatus.CANCELLED_BY_DOCTOR);
-        appointmentRepository.save(appointment);
+        AppointmentService.StatusChange change = appointmentService.changeStatusAsDoctor(
+                id, userDetails.getId(), Appointment.AppointmentStatus.CANCELLED_BY_DOCTOR);
         
-        return ResponseEntity.ok(new MessageResponse("Appointment cancelled successfully!"));
+        return statusChangeResponse(id, change, "cancel", "Appointment cancelled successfully!");
     }
 
     @PutMapping("/{id}/complete")
-    @PreAuthorize("hasRole('DOCTOR')")
+    @RequireRole(ERole.ROLE_DOCTOR)
     public ResponseEntity<?> completeAppointment(@PathVariable Long id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        UserDetailsImpl userDetails = CurrentUser.get();
         
-        Appointment appointment = appointmentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
+        AppointmentService.StatusChange change = appointmentService.changeStatusAsDoctor(
+                id, userDetails.getId(), Appointment.AppointmentStatus.COMPLETED);
         
-        // Check if user is the doctor for this appointment
-        if (!appointment.getDoctor().getUser().getId().equals(userDetails.getId())) {
-            return ResponseEntity.status(403).build();
-        }
-        
-        // Check if appointment can be completed
-        if (appointment.getStatus() != Appointment.AppointmentStatus.SCHEDULED) {
-            return ResponseEntity.badRequest()
-                    .body(new MessageResponse("Cannot complete appointment with status: " + appointment.getStatus()));
+        return statusChangeResponse(id, change, "complete", "Appointment marked as completed!");
+    }
+
+    private ResponseEntity<?> statusChangeResponse(Long id, AppointmentService.StatusChange change,
+                                                   String action, String successMessage) {
+        switch (change.outcome()) {
+            case NOT_FOUND:
+                throw new RuntimeException("Appointment not found with id: " + id);
+            case FORBIDDEN:
+                return ResponseEntity.status(403).build();
+            case INVALID_STATUS:
+                return ResponseEntity.badRequest()
+                        .body(new MessageResponse("Cannot " + action + " appointment with status: " + change.currentStatus()));
+            default:
+                return ResponseEntity.ok(new MessageResponse(successMessage));
         }
-        
-        appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
-        appointmentRepository.save(appointment);
-        
-        return ResponseEntity.ok(new MessageResponse("Appointment marked as completed!"));
     }
-}
\ No newline at end of file
+}
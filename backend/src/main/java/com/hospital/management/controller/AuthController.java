@@ -12,6 +12,7 @@ import com.hospital.management.repository.RoleRepository;
 import com.hospital.management.repository.UserRepository;
 import com.hospital.management.security.jwt.JwtUtils;
 import com.hospital.management.security.services.UserDetailsImpl;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -23,9 +24,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -50,6 +49,7 @@ public class AuthController {
     JwtUtils jwtUtils;
 
     @PostMapping("/login")
+    @Timed(value = "controller.invocations", histogram = true)
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
@@ -58,27 +58,21 @@ public class AuthController {
         String jwt = jwtUtils.generateJwtToken(authentication);
         
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        List<String> roles = userDetails.getAuthorities().stream()
-                .map(item -> item.getAuthority())
-                .collect(Collectors.toList());
-
         return ResponseEntity.ok(new JwtResponse(jwt,
                                                 userDetails.getId(), 
                                                 userDetails.getFirstName(),
                                                 userDetails.getLastName(),
                                                 userDetails.getEmail(), 
-                                                roles));
+                                                userDetails.getRoleNames()));
     }
 
     @PostMapping("/debug")
     public ResponseEntity<?> debugRegistration(@RequestBody SignupRequest signUpRequest) {
-        System.out.println("Debug registration request: " + signUpRequest);
         return ResponseEntity.ok(new MessageResponse("Debug successful"));
     }
 
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-        System.out.println("Received registration request: " + signUpRequest);
         if (userRepository.existsByEmail(signUpRequest.getEmail())) {
             return ResponseEntity
                     .badRequest()
@@ -1,6 +1,10 @@
 package com.hospital.management.controller;
 
+import com.hospital.management.dto.AppointmentSlot;
 import com.hospital.management.dto.DoctorRegistrationRequest;
+import com.hospital.management.dto.DoctorSearchRequest;
+import com.hospital.management.dto.DoctorSearchResponse;
+import com.hospital.management.dto.DoctorView;
 import com.hospital.management.dto.MessageResponse;
 import com.hospital.management.model.Doctor;
 import com.hospital.management.model.Role;
@@ -8,13 +12,24 @@ import com.hospital.management.model.User;
 import com.hospital.management.repository.DoctorRepository;
 import com.hospital.management.repository.RoleRepository;
 import com.hospital.management.repository.UserRepository;
+import com.hospital.management.security.RequireRole;
+import com.hospital.management.security.jwt.TokenVersionRegistry;
+import com.hospital.management.service.DoctorAvailabilityIndex;
+import com.hospital.management.service.DoctorDirectoryCache;
+import com.hospital.management.service.DoctorSearchIndex;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -35,27 +50,76 @@ public class DoctorController {
     @Autowired
     private PasswordEncoder encoder;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private DoctorAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private DoctorDirectoryCache directoryCache;
+
+    @Autowired
+    private DoctorSearchIndex searchIndex;
+
     @GetMapping("/public/all")
-    public ResponseEntity<List<Doctor>> getAllDoctors() {
-        List<Doctor> doctors = doctorRepository.findAll();
-        return ResponseEntity.ok(doctors);
+    public ResponseEntity<byte[]> getAllDoctors(WebRequest request) {
+        DoctorDirectoryCache.Entry directory = directoryCache.get(DoctorDirectoryCache.ALL,
+                doctorRepository::findAllViews);
+        return directoryResponse(directory, request);
     }
 
     @GetMapping("/public/specialization/{specialization}")
-    public ResponseEntity<List<Doctor>> getDoctorsBySpecialization(@PathVariable Doctor.Specialization specialization) {
-        List<Doctor> doctors = doctorRepository.findBySpecialization(specialization);
-        return ResponseEntity.ok(doctors);
+    public ResponseEntity<byte[]> getDoctorsBySpecialization(@PathVariable Doctor.Specialization specialization,
+                                                             WebRequest request) {
+        DoctorDirectoryCache.Entry directory = directoryCache.get(specialization.name(),
+                () -> doctorRepository.findViewsBySpecialization(specialization));
+        return directoryResponse(directory, request);
+    }
+
+    @GetMapping("/public/search")
+    public ResponseEntity<DoctorSearchResponse> searchDoctors(DoctorSearchRequest request) {
+        return ResponseEntity.ok(searchIndex.search(request));
+    }
+
+    @GetMapping("/public/search/suggest")
+    public ResponseEntity<List<String>> suggestSearchTerms(@RequestParam String prefix,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchIndex.suggest(prefix, Math.min(Math.max(limit, 1), 50)));
+    }
+
+    @GetMapping("/public/{id}/slots")
+    public ResponseEntity<List<AppointmentSlot>> getFreeSlots(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!availabilityIndex.contains(id)) {
+            throw new RuntimeException("Doctor not found with id: " + id);
+        }
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+        return ResponseEntity.ok(availabilityIndex.findFreeSlots(id, start, end));
+    }
+
+    @GetMapping("/public/first-available")
+    public ResponseEntity<?> getFirstAvailableSlot(
+            @RequestParam Doctor.Specialization specialization,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        return availabilityIndex.findFirstAvailable(specialization, from != null ? from : LocalDate.now())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new MessageResponse("No available slot for " + specialization)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Doctor> getDoctorById(@PathVariable Long id) {
-        Doctor doctor = doctorRepository.findById(id)
+    public ResponseEntity<DoctorView> getDoctorById(@PathVariable Long id) {
+        DoctorView doctor = doctorRepository.findViewById(id)
                 .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + id));
         return ResponseEntity.ok(doctor);
     }
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequireRole(Role.ERole.ROLE_ADMIN)
     public ResponseEntity<?> registerDoctor(@Valid @RequestBody DoctorRegistrationRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             return ResponseEntity
@@ -93,12 +157,15 @@ public class DoctorController {
         doctor.setBiography(request.getBiography());
 
         doctorRepository.save(doctor);
+        availabilityIndex.refresh(doctor);
+        searchIndex.index(DoctorView.from(doctor));
+        directoryCache.invalidateAll();
 
         return ResponseEntity.ok(new MessageResponse("Doctor registered successfully!"));
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequireRole(Role.ERole.ROLE_ADMIN)
     public ResponseEntity<?> updateDoctor(@PathVariable Long id, @Valid @RequestBody Doctor doctorDetails) {
         Doctor doctor = doctorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + id));
@@ -112,22 +179,50 @@ public class DoctorController {
         doctor.setBiography(doctorDetails.getBiography());
 
         doctorRepository.save(doctor);
+        availabilityIndex.refresh(doctor);
+        searchIndex.index(DoctorView.from(doctor));
+        directoryCache.invalidateAll();
 
         return ResponseEntity.ok(new MessageResponse("Doctor updated successfully!"));
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequireRole(Role.ERole.ROLE_ADMIN)
     public ResponseEntity<?> deleteDoctor(@PathVariable Long id) {
         Doctor doctor = doctorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + id));
 
         // Delete doctor profile
         doctorRepository.delete(doctor);
+        availabilityIndex.remove(id);
+        searchIndex.remove(id);
+        directoryCache.invalidateAll();
 
         // Delete user account
         userRepository.delete(doctor.getUser());
 
+        // Invalidate tokens already issued to the deleted account
+        tokenVersionRegistry.revoke(doctor.getUser().getId());
+
         return ResponseEntity.ok(new MessageResponse("Doctor deleted successfully!"));
     }
-}
\ No newline at end of file
+
+    // Serves the pre-encoded listing, or 304 when the client already has this representation
+    private ResponseEntity<byte[]> directoryResponse(DoctorDirectoryCache.Entry directory, WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? directory.gzipEtag() : directory.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(directory.gzip());
+        }
+        return response.body(directory.json());
+    }
+}
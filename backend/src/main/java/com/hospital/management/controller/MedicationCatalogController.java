@@ -0,0 +1,35 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.dto.CatalogSuggestion;
+import com.hospital.management.dto.MedicationUsage;
+import com.hospital.management.model.MedicationCatalog;
+import com.hospital.management.model.Role.ERole;
+import com.hospital.management.security.RequireRole;
+import com.hospital.management.service.MedicationCatalogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/medications/catalog")
+public class MedicationCatalogController {
+    @Autowired
+    private MedicationCatalogService catalogService;
+
+    @GetMapping("/suggest")
+    @RequireRole({ERole.ROLE_DOCTOR, ERole.ROLE_ADMIN})
+    public ResponseEntity<List<CatalogSuggestion>> suggest(@RequestParam String prefix,
+                                                           @RequestParam(defaultValue = "DRUG") MedicationCatalog.Kind kind,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(catalogService.suggest(kind, prefix, Math.min(Math.max(limit, 1), 50)));
+    }
+
+    @GetMapping("/usage")
+    @RequireRole({ERole.ROLE_DOCTOR, ERole.ROLE_ADMIN})
+    public ResponseEntity<List<MedicationUsage>> usage(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(catalogService.usage(Math.min(Math.max(limit, 1), 500)));
+    }
+}
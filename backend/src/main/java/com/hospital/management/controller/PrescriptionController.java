@@ -1,27 +1,37 @@
 package com.hospital.management.controller;
 
+import com.hospital.management.dto.BulkPrescriptionRequest;
 import com.hospital.management.dto.MessageResponse;
 import com.hospital.management.dto.PrescriptionRequest;
-import com.hospital.management.model.*;
-import com.hospital.management.repository.AppointmentRepository;
+import com.hospital.management.dto.PrescriptionView;
+import com.hospital.management.model.Role.ERole;
 import com.hospital.management.repository.PrescriptionRepository;
+import com.hospital.management.security.CurrentUser;
+import com.hospital.management.security.RequireRole;
 import com.hospital.management.security.services.UserDetailsImpl;
-import com.itextpdf.text.*;
-import com.itextpdf.text.pdf.PdfPCell;
-import com.itextpdf.text.pdf.PdfPTable;
-import com.itextpdf.text.pdf.PdfWriter;
+import com.hospital.management.service.AccessCheckService;
+import com.hospital.management.service.PrescriptionBatchService;
+import com.hospital.management.service.PrescriptionPdfService;
+import com.hospital.management.service.PrescriptionService;
+import com.itextpdf.text.DocumentException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.io.IOException;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -32,51 +42,55 @@ public class PrescriptionController {
     private PrescriptionRepository prescriptionRepository;
 
     @Autowired
-    private AppointmentRepository appointmentRepository;
+    private AccessCheckService accessCheckService;
+
+    @Autowired
+    private PrescriptionPdfService pdfService;
+
+    @Autowired
+    private PrescriptionBatchService batchService;
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
 
     @GetMapping
-    @PreAuthorize("hasRole('PATIENT') or hasRole('DOCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<List<Prescription>> getPrescriptions() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+    @RequireRole({ERole.ROLE_PATIENT, ERole.ROLE_DOCTOR, ERole.ROLE_ADMIN})
+    public ResponseEntity<List<PrescriptionView>> getPrescriptions() {
+        UserDetailsImpl userDetails = CurrentUser.get();
         
-        List<Prescription> prescriptions;
+        List<PrescriptionView> prescriptions;
         
-        if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT"))) {
-            Patient patient = new Patient();
-            patient.setId(userDetails.getId());
-            prescriptions = prescriptionRepository.findByPatient(patient);
-        } else if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_DOCTOR"))) {
-            Doctor doctor = new Doctor();
-            doctor.setId(userDetails.getId());
-            prescriptions = prescriptionRepository.findByDoctor(doctor);
+        if (userDetails.isPatient()) {
+            prescriptions = prescriptionRepository.findViewsByPatientUserId(userDetails.getId());
+        } else if (userDetails.isDoctor()) {
+            prescriptions = prescriptionRepository.findViewsByDoctorUserId(userDetails.getId());
         } else {
-            prescriptions = prescriptionRepository.findAll();
+            prescriptions = prescriptionRepository.findAllViews();
         }
         
         return ResponseEntity.ok(prescriptions);
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('PATIENT') or hasRole('DOCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<Prescription> getPrescriptionById(@PathVariable Long id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+    @RequireRole({ERole.ROLE_PATIENT, ERole.ROLE_DOCTOR, ERole.ROLE_ADMIN})
+    public ResponseEntity<PrescriptionView> getPrescriptionById(@PathVariable Long id) {
+        UserDetailsImpl userDetails = CurrentUser.get();
         
-        Prescription prescription = prescriptionRepository.findById(id)
+        PrescriptionView prescription = prescriptionRepository.findViewById(id)
                 .orElseThrow(() -> new RuntimeException("Prescription not found with id: " + id));
         
         // Check if user has access to this prescription
-        if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT"))) {
-            if (!prescription.getPatient().getUser().getId().equals(userDetails.getId())) {
+        if (userDetails.isPatient()) {
+            if (!prescription.patientUserId().equals(userDetails.getId())) {
                 return ResponseEntity.status(403).build();
             }
-        } else if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_DOCTOR"))) {
-            if (!prescription.getDoctor().getUser().getId().equals(userDetails.getId())) {
+        } else if (userDetails.isDoctor()) {
+            if (!prescription.doctorUserId().equals(userDetails.getId())) {
                 return ResponseEntity.status(403).build();
             }
         }
@@ -85,190 +99,135 @@ public class PrescriptionController {
     }
 
     @PostMapping
-    @PreAuthorize("hasRole('DOCTOR')")
+    @RequireRole(ERole.ROLE_DOCTOR)
     public ResponseEntity<?> createPrescription(@Valid @RequestBody PrescriptionRequest prescriptionRequest) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        
-        // Get appointment
-        Appointment appointment = appointmentRepository.findById(prescriptionRequest.getAppointmentId())
-                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + prescriptionRequest.getAppointmentId()));
-        
-        // Check if user is the doctor for this appointment
-        if (!appointment.getDoctor().getUser().getId().equals(userDetails.getId())) {
-            return ResponseEntity.status(403).build();
-        }
-        
-        // Check if appointment is completed
-        if (appointment.getStatus() != Appointment.AppointmentStatus.COMPLETED) {
-            return ResponseEntity.badRequest()
-                    .body(new MessageResponse("Cannot create prescription for appointment with status: " + appointment.getStatus()));
-        }
-        
-        // Check if prescription already exists for this appointment
-        if (prescriptionRepository.findByAppointment(appointment).isPresent()) {
-            return ResponseEntity.badRequest()
-                    .body(new MessageResponse("Prescription already exists for this appointment"));
-        }
+        UserDetailsImpl userDetails = CurrentUser.get();
         
-        // Create prescription
-        Prescription prescription = new Prescription();
-        prescription.setAppointment(appointment);
-        prescription.setPatient(appointment.getPatient());
-        prescription.setDoctor(appointment.getDoctor());
-        prescription.setDiagnosis(prescriptionRequest.getDiagnosis());
-        prescription.setAdditionalNotes(prescriptionRequest.getAdditionalNotes());
-        prescription.setFollowUpDate(prescriptionRequest.getFollowUpDate());
-        
-        // Create medications
-        List<Medication> medications = new ArrayList<>();
-        for (PrescriptionRequest.MedicationDto medicationDto : prescriptionRequest.getMedications()) {
-            Medication medication = new Medication();
-            medication.setPrescription(prescription);
-            medication.setName(medicationDto.getName());
-            medication.setDosage(medicationDto.getDosage());
-            medication.setFrequency(medicationDto.getFrequency());
-            medication.setDuration(medicationDto.getDuration());
-            medication.setInstructions(medicationDto.getInstructions());
-            medications.add(medication);
-        }
-        
-        prescription.setMedications(medications);
-        prescriptionRepository.save(prescription);
+        return resultResponse(prescriptionService.create(userDetails.getId(), prescriptionRequest));
+    }
+
+    @PostMapping("/bulk")
+    @RequireRole(ERole.ROLE_DOCTOR)
+    public ResponseEntity<?> createPrescriptions(@Valid @RequestBody BulkPrescriptionRequest bulkRequest) {
+        UserDetailsImpl userDetails = CurrentUser.get();
         
-        return ResponseEntity.ok(new MessageResponse("Prescription created successfully!"));
+        return resultResponse(prescriptionService.createAll(userDetails.getId(), bulkRequest.getPrescriptions()));
     }
 
     @PutMapping("/{id}/pay")
-    @PreAuthorize("hasRole('PATIENT') or hasRole('ADMIN')")
+    @RequireRole({ERole.ROLE_PATIENT, ERole.ROLE_ADMIN})
     public ResponseEntity<?> markAsPaid(@PathVariable Long id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        UserDetailsImpl userDetails = CurrentUser.get();
         
-        Prescription prescription = prescriptionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Prescription not found with id: " + id));
+        // Patients can only pay their own prescriptions; the check is part of the UPDATE
+        int updated = userDetails.isPatient()
+                ? prescriptionRepository.markPaidForPatientUser(id, userDetails.getId(), LocalDateTime.now())
+                : prescriptionRepository.markPaid(id, LocalDateTime.now());
         
-        // Check if user is the patient for this prescription
-        if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT")) &&
-                !prescription.getPatient().getUser().getId().equals(userDetails.getId())) {
+        if (updated == 0) {
+            if (!prescriptionRepository.existsById(id)) {
+                throw new RuntimeException("Prescription not found with id: " + id);
+            }
             return ResponseEntity.status(403).build();
         }
         
-        prescription.setPaid(true);
-        prescriptionRepository.save(prescription);
-        
         return ResponseEntity.ok(new MessageResponse("Prescription marked as paid!"));
     }
 
-    @GetMapping("/{id}/pdf")
-    @PreAuthorize("hasRole('PATIENT') or hasRole('DOCTOR') or hasRole('ADMIN')")
-    public void generatePdf(@PathVariable Long id, HttpServletResponse response) throws IOException, DocumentException {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        
-        Prescription prescription = prescriptionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Prescription not found with id: " + id));
-        
-        // Check if user has access to this prescription
-        if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT"))) {
-            if (!prescription.getPatient().getUser().getId().equals(userDetails.getId())) {
-                response.sendError(403);
-                return;
-            }
-        } else if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_DOCTOR"))) {
-            if (!prescription.getDoctor().getUser().getId().equals(userDetails.getId())) {
-                response.sendError(403);
+    @GetMapping("/batch")
+    @RequireRole({ERole.ROLE_PATIENT, ERole.ROLE_DOCTOR, ERole.ROLE_ADMIN})
+    public void generateBatch(@RequestParam(defaultValue = "pdf") String format,
+                              @RequestParam(required = false) Long patientId,
+                              @RequestParam(required = false) Long doctorId,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                              HttpServletResponse response) throws IOException, DocumentException {
+        UserDetailsImpl userDetails = CurrentUser.get();
+        
+        PrescriptionBatchService.Format batchFormat;
+        switch (format.toLowerCase()) {
+            case "pdf":
+                batchFormat = PrescriptionBatchService.Format.PDF;
+                break;
+            case "zip":
+                batchFormat = PrescriptionBatchService.Format.ZIP;
+                break;
+            default:
+                response.sendError(400, "Unsupported batch format: " + format);
                 return;
-            }
         }
         
-        // Set response headers
-        response.setContentType("application/pdf");
-        response.setHeader("Content-Disposition", "attachment; filename=prescription_" + id + ".pdf");
-        
-        // Create PDF document
-        Document document = new Document(PageSize.A4);
-        PdfWriter.getInstance(document, response.getOutputStream());
-        
-        document.open();
-        
-        // Add title
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, BaseColor.BLACK);
-        Paragraph title = new Paragraph("Global Hospitals", titleFont);
-        title.setAlignment(Element.ALIGN_CENTER);
-        document.add(title);
-        
-        Paragraph subtitle = new Paragraph("Prescription", titleFont);
-        subtitle.setAlignment(Element.ALIGN_CENTER);
-        subtitle.setSpacingAfter(20);
-        document.add(subtitle);
-        
-        // Add patient and doctor info
-        Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 12, BaseColor.BLACK);
-        Font boldFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
-        
-        document.add(new Paragraph("Patient: " + prescription.getPatient().getUser().getFirstName() + " " + 
-                prescription.getPatient().getUser().getLastName(), boldFont));
-        document.add(new Paragraph("Doctor: Dr. " + prescription.getDoctor().getUser().getFirstName() + " " + 
-                prescription.getDoctor().getUser().getLastName() + " (" + prescription.getDoctor().getSpecialization() + ")", boldFont));
-        document.add(new Paragraph("Date: " + prescription.getCreatedAt().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")), boldFont));
-        document.add(new Paragraph("Diagnosis: " + prescription.getDiagnosis(), boldFont));
-        document.add(new Paragraph(" "));
-        
-        // Add medications
-        document.add(new Paragraph("Medications:", boldFont));
-        
-        PdfPTable table = new PdfPTable(5);
-        table.setWidthPercentage(100);
-        table.setSpacingBefore(10f);
-        table.setSpacingAfter(10f);
+        // Patients only ever get their own prescriptions, doctors only the ones they wrote
+        Long patientUserId = null;
+        Long doctorUserId = null;
+        if (userDetails.isPatient()) {
+            patientUserId = userDetails.getId();
+        } else if (userDetails.isDoctor()) {
+            doctorUserId = userDetails.getId();
+        }
         
-        // Set table headers
-        PdfPCell cell1 = new PdfPCell(new Paragraph("Medication", boldFont));
-        PdfPCell cell2 = new PdfPCell(new Paragraph("Dosage", boldFont));
-        PdfPCell cell3 = new PdfPCell(new Paragraph("Frequency", boldFont));
-        PdfPCell cell4 = new PdfPCell(new Paragraph("Duration", boldFont));
-        PdfPCell cell5 = new PdfPCell(new Paragraph("Instructions", boldFont));
+        String extension = batchFormat == PrescriptionBatchService.Format.ZIP ? "zip" : "pdf";
+        response.setContentType(batchFormat == PrescriptionBatchService.Format.ZIP ? "application/zip" : "application/pdf");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=prescriptions_" + LocalDate.now() + "." + extension);
         
-        table.addCell(cell1);
-        table.addCell(cell2);
-        table.addCell(cell3);
-        table.addCell(cell4);
-        table.addCell(cell5);
+        batchService.writeBatch(new PrescriptionBatchService.Filter(patientId, doctorId, patientUserId, doctorUserId,
+                from, to), batchFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/{id}/pdf")
+    @Timed(value = "controller.invocations", histogram = true)
+    @RequireRole({ERole.ROLE_PATIENT, ERole.ROLE_DOCTOR, ERole.ROLE_ADMIN})
+    public void generatePdf(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        UserDetailsImpl userDetails = CurrentUser.get();
+        
+        // Check if user has access to this prescription before loading it
+        if (!accessCheckService.canAccessPrescription(userDetails, id)) {
+            response.sendError(403);
+            return;
+        }
         
-        // Add medication rows
-        for (Medication medication : prescription.getMedications()) {
-            table.addCell(new Paragraph(medication.getName(), normalFont));
-            table.addCell(new Paragraph(medication.getDosage(), normalFont));
-            table.addCell(new Paragraph(medication.getFrequency(), normalFont));
-            table.addCell(new Paragraph(medication.getDuration(), normalFont));
-            table.addCell(new Paragraph(medication.getInstructions() != null ? medication.getInstructions() : "", normalFont));
+        PrescriptionPdfService.RenderedPdf pdf = pdfService.getPdf(id);
+        if (new ServletWebRequest(request, response).checkNotModified(pdf.etag())) {
+            return;
         }
         
-        document.add(table);
+        // Set response headers
+        response.setContentType("application/pdf");
+        response.setHeader("Content-Disposition", "attachment; filename=prescription_" + id + ".pdf");
+        response.setContentLengthLong(pdf.size());
         
-        // Add additional notes
-        if (prescription.getAdditionalNotes() != null && !prescription.getAdditionalNotes().isEmpty()) {
-            document.add(new Paragraph("Additional Notes:", boldFont));
-            document.add(new Paragraph(prescription.getAdditionalNotes(), normalFont));
+        sendFile(pdf.file(), pdf.size(), request, response);
+    }
+
+    private ResponseEntity<?> resultResponse(PrescriptionService.Result result) {
+        switch (result.outcome()) {
+            case CREATED:
+                return ResponseEntity.ok(new MessageResponse(result.message()));
+            case FORBIDDEN:
+                return ResponseEntity.status(403).build();
+            default:
+                return ResponseEntity.badRequest().body(new MessageResponse(result.message()));
         }
-        
-        // Add follow-up date
-        if (prescription.getFollowUpDate() != null) {
-            document.add(new Paragraph(" "));
-            document.add(new Paragraph("Follow-up Date: " + 
-                    prescription.getFollowUpDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")), boldFont));
+    }
+
+    // Hands the file to the connector's sendfile support when available, otherwise copies channel to channel
+    private static void sendFile(Path file, long size, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
         }
         
-        // Add signature
-        document.add(new Paragraph(" "));
-        document.add(new Paragraph(" "));
-        document.add(new Paragraph(" "));
-        document.add(new Paragraph("Doctor's Signature", boldFont));
-        
-        document.close();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.hospital.management.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+/**
+ * Position in the appointment listing, ordered by (appointmentDate, appointmentTime, id).
+ * Encoded as an opaque URL-safe token so clients only pass it back as-is.
+ */
+public record AppointmentCursor(LocalDate appointmentDate, LocalTime appointmentTime, Long id) {
+
+    public String encode() {
+        String raw = appointmentDate + "|" + appointmentTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AppointmentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new AppointmentCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
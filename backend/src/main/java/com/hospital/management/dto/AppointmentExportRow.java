@@ -0,0 +1,24 @@
+package com.hospital.management.dto;
+
+import com.hospital.management.model.Appointment;
+import com.hospital.management.model.Doctor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public record AppointmentExportRow(
+        Long id,
+        LocalDate appointmentDate,
+        LocalTime appointmentTime,
+        Appointment.AppointmentStatus status,
+        Double consultationFees,
+        Long patientId,
+        String patientFirstName,
+        String patientLastName,
+        Long doctorId,
+        String doctorFirstName,
+        String doctorLastName,
+        Doctor.Specialization specialization,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,7 @@
+package com.hospital.management.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record AppointmentSlot(Long doctorId, LocalDate date, LocalTime time) {
+}
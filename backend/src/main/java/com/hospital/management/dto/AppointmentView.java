@@ -0,0 +1,32 @@
+package com.hospital.management.dto;
+
+import com.hospital.management.model.Appointment;
+import com.hospital.management.model.Doctor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Read model for appointment endpoints, selected column by column instead of serializing
+ * the Appointment -> Patient/Doctor -> User entity graph.
+ */
+public record AppointmentView(
+        Long id,
+        LocalDate appointmentDate,
+        LocalTime appointmentTime,
+        Appointment.AppointmentStatus status,
+        Double consultationFees,
+        String reason,
+        String notes,
+        Long patientId,
+        Long patientUserId,
+        String patientFirstName,
+        String patientLastName,
+        Long doctorId,
+        Long doctorUserId,
+        String doctorFirstName,
+        String doctorLastName,
+        Doctor.Specialization specialization,
+        LocalDateTime createdAt) {
+}
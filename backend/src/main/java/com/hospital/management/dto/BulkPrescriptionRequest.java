@@ -0,0 +1,16 @@
+package com.hospital.management.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkPrescriptionRequest {
+    @NotEmpty
+    @Size(max = 200)
+    @Valid
+    private List<PrescriptionRequest> prescriptions;
+}
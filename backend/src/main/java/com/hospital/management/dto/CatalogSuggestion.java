@@ -0,0 +1,4 @@
+package com.hospital.management.dto;
+
+public record CatalogSuggestion(Long id, String name, long uses) {
+}
@@ -0,0 +1,15 @@
+package com.hospital.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+
+    // Opaque token for the next page, null when this is the last page
+    private String nextCursor;
+}
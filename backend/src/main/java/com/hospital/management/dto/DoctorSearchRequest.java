@@ -0,0 +1,27 @@
+package com.hospital.management.dto;
+
+import com.hospital.management.model.Doctor;
+import com.hospital.management.model.User;
+import lombok.Data;
+
+@Data
+public class DoctorSearchRequest {
+    // Free text over name, education, biography and specialization; every word is matched as a prefix
+    private String q;
+
+    private Doctor.Specialization specialization;
+
+    private User.Gender gender;
+
+    private Doctor.DayOfWeek day;
+
+    private Double minFee;
+
+    private Double maxFee;
+
+    private Integer minExperience;
+
+    private int offset = 0;
+
+    private int limit = 20;
+}
@@ -0,0 +1,13 @@
+package com.hospital.management.dto;
+
+import com.hospital.management.model.Doctor;
+
+import java.util.List;
+import java.util.Map;
+
+public record DoctorSearchResponse(
+        int total,
+        List<DoctorView> doctors,
+        Map<Doctor.Specialization, Integer> specializationFacets,
+        Map<Doctor.DayOfWeek, Integer> dayFacets) {
+}
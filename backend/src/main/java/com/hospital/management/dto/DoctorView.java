@@ -0,0 +1,42 @@
+package com.hospital.management.dto;
+
+import com.hospital.management.model.Doctor;
+import com.hospital.management.model.User;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Public doctor profile. Never carries the account password or roles.
+ */
+public record DoctorView(
+        Long id,
+        Long userId,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        User.Gender gender,
+        Doctor.Specialization specialization,
+        Double consultationFees,
+        Integer experience,
+        String education,
+        String biography,
+        Set<Doctor.DayOfWeek> availableDays,
+        Set<String> availableTimeSlots) {
+
+    public DoctorView(Long id, Long userId, String firstName, String lastName, String email, String phone,
+                      User.Gender gender, Doctor.Specialization specialization, Double consultationFees,
+                      Integer experience, String education, String biography) {
+        this(id, userId, firstName, lastName, email, phone, gender, specialization, consultationFees, experience,
+                education, biography, new HashSet<>(), new HashSet<>());
+    }
+
+    public static DoctorView from(Doctor doctor) {
+        User user = doctor.getUser();
+        return new DoctorView(doctor.getId(), user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getPhone(), user.getGender(), doctor.getSpecialization(), doctor.getConsultationFees(),
+                doctor.getExperience(), doctor.getEducation(), doctor.getBiography(),
+                new HashSet<>(doctor.getAvailableDays()), new HashSet<>(doctor.getAvailableTimeSlots()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.hospital.management.dto;
+
+public record MedicationExportRow(
+        Long prescriptionId,
+        String name,
+        String dosage,
+        String frequency,
+        String duration,
+        String instructions) {
+}
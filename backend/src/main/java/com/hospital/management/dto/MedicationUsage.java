@@ -0,0 +1,4 @@
+package com.hospital.management.dto;
+
+public record MedicationUsage(Long catalogId, String name, long prescribedCount) {
+}
@@ -0,0 +1,13 @@
+package com.hospital.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public record MedicationView(
+        Long id,
+        @JsonIgnore Long prescriptionId,
+        String name,
+        String dosage,
+        String frequency,
+        String duration,
+        String instructions) {
+}
@@ -0,0 +1,47 @@
+package com.hospital.management.dto;
+
+import com.hospital.management.model.Doctor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One prescription joined with one of its medications (all medication columns are null when it has none).
+ * Consecutive rows with the same prescription id are folded back into a {@link PrescriptionView}.
+ */
+public record PrescriptionDocumentRow(
+        Long id,
+        Long appointmentId,
+        Long patientId,
+        Long patientUserId,
+        String patientFirstName,
+        String patientLastName,
+        Long doctorId,
+        Long doctorUserId,
+        String doctorFirstName,
+        String doctorLastName,
+        Doctor.Specialization specialization,
+        String diagnosis,
+        String additionalNotes,
+        LocalDate followUpDate,
+        boolean paid,
+        LocalDateTime createdAt,
+        Long medicationId,
+        String medicationName,
+        String dosage,
+        String frequency,
+        String duration,
+        String instructions) {
+
+    public PrescriptionView toView() {
+        return new PrescriptionView(id, appointmentId, patientId, patientUserId, patientFirstName, patientLastName,
+                doctorId, doctorUserId, doctorFirstName, doctorLastName, specialization, diagnosis, additionalNotes,
+                followUpDate, paid, createdAt);
+    }
+
+    public MedicationView toMedication() {
+        return medicationId != null
+                ? new MedicationView(medicationId, id, medicationName, dosage, frequency, duration, instructions)
+                : null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.hospital.management.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record PrescriptionExportRow(
+        Long id,
+        Long appointmentId,
+        Long patientId,
+        String patientFirstName,
+        String patientLastName,
+        Long doctorId,
+        String doctorFirstName,
+        String doctorLastName,
+        String diagnosis,
+        LocalDate followUpDate,
+        boolean paid,
+        LocalDateTime createdAt) {
+}
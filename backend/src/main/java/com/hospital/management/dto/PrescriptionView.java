@@ -0,0 +1,41 @@
+package com.hospital.management.dto;
+
+import com.hospital.management.model.Doctor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read model for prescription endpoints. The row is selected in one query; medications are
+ * attached afterwards from a single IN query over all listed prescriptions.
+ */
+public record PrescriptionView(
+        Long id,
+        Long appointmentId,
+        Long patientId,
+        Long patientUserId,
+        String patientFirstName,
+        String patientLastName,
+        Long doctorId,
+        Long doctorUserId,
+        String doctorFirstName,
+        String doctorLastName,
+        Doctor.Specialization specialization,
+        String diagnosis,
+        String additionalNotes,
+        LocalDate followUpDate,
+        boolean paid,
+        LocalDateTime createdAt,
+        List<MedicationView> medications) {
+
+    public PrescriptionView(Long id, Long appointmentId, Long patientId, Long patientUserId, String patientFirstName,
+                            String patientLastName, Long doctorId, Long doctorUserId, String doctorFirstName,
+                            String doctorLastName, Doctor.Specialization specialization, String diagnosis,
+                            String additionalNotes, LocalDate followUpDate, boolean paid, LocalDateTime createdAt) {
+        this(id, appointmentId, patientId, patientUserId, patientFirstName, patientLastName, doctorId, doctorUserId,
+                doctorFirstName, doctorLastName, specialization, diagnosis, additionalNotes, followUpDate, paid,
+                createdAt, new ArrayList<>());
+    }
+}
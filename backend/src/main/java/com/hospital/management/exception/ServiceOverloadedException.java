@@ -0,0 +1,15 @@
+package com.hospital.management.exception;
+
+/**
+ * Thrown when a bounded worker pool cannot accept more work in time.
+ * Mapped to 503 Service Unavailable by {@link GlobalExceptionHandler}.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+
+    public ServiceOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
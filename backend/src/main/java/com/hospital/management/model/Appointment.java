@@ -16,14 +16,26 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments",
+       uniqueConstraints = {
+           // slotActive is TRUE while SCHEDULED and NULL otherwise, so only one active booking per slot
+           @UniqueConstraint(name = "uk_appointments_active_slot",
+                             columnNames = {"doctor_id", "appointmentDate", "appointmentTime", "slotActive"})
+       },
+       indexes = {
+           @Index(name = "idx_appointments_date_time", columnList = "appointmentDate, appointmentTime, id"),
+           @Index(name = "idx_appointments_doctor_date_time", columnList = "doctor_id, appointmentDate, appointmentTime, id"),
+           @Index(name = "idx_appointments_doctor_slot_status", columnList = "doctor_id, appointmentDate, appointmentTime, status"),
+           @Index(name = "idx_appointments_patient_date_time", columnList = "patient_id, appointmentDate, appointmentTime, id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Appointment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -47,6 +59,8 @@ public class Appointment {
     @Enumerated(EnumType.STRING)
     private AppointmentStatus status = AppointmentStatus.SCHEDULED;
 
+    private Boolean slotActive = Boolean.TRUE;
+
     @NotBlank
     @Column(columnDefinition = "TEXT")
     private String reason;
@@ -7,6 +7,9 @@ import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,6 +20,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "doctors")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctors")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,12 +42,16 @@ public class Doctor {
     private Double consultationFees;
 
     @ElementCollection
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctor-available-days")
     @CollectionTable(name = "doctor_available_days", 
                     joinColumns = @JoinColumn(name = "doctor_id"))
     @Enumerated(EnumType.STRING)
     private Set<DayOfWeek> availableDays = new HashSet<>();
 
     @ElementCollection
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctor-available-time-slots")
     @CollectionTable(name = "doctor_available_time_slots", 
                     joinColumns = @JoinColumn(name = "doctor_id"))
     private Set<String> availableTimeSlots = new HashSet<>();
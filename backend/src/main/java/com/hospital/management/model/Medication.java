@@ -1,25 +1,61 @@
 package com.hospital.management.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "medications")
+@Table(name = "medications",
+       indexes = {
+           @Index(name = "idx_medications_catalog", columnList = "catalog_id"),
+           @Index(name = "idx_medications_dosage_catalog", columnList = "dosage_catalog_id"),
+           @Index(name = "idx_medications_frequency_catalog", columnList = "frequency_catalog_id"),
+           @Index(name = "idx_medications_duration_catalog", columnList = "duration_catalog_id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Medication {
+    // Pooled sequence ids let Hibernate batch the inserts; IDENTITY needs one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medication_seq")
+    @SequenceGenerator(name = "medication_seq", sequenceName = "medications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
     @JoinColumn(name = "prescription_id", nullable = false)
     private Prescription prescription;
 
+    // Catalog entry of the drug; the name is kept alongside so readers need no join
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "catalog_id")
+    @JsonIgnore
+    @ToString.Exclude
+    private MedicationCatalog catalog;
+
+    // Catalog entries of the dosage, frequency and duration texts below
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "dosage_catalog_id")
+    @JsonIgnore
+    @ToString.Exclude
+    private MedicationCatalog dosageCatalog;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "frequency_catalog_id")
+    @JsonIgnore
+    @ToString.Exclude
+    private MedicationCatalog frequencyCatalog;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "duration_catalog_id")
+    @JsonIgnore
+    @ToString.Exclude
+    private MedicationCatalog durationCatalog;
+
     @NotBlank
     private String name;
 
@@ -0,0 +1,52 @@
+package com.hospital.management.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Canonical spelling of a drug name or a common dosage, frequency or duration value.
+ * Lookups go through {@code normalizedName}, so "amlodipine " and "Amlodipine" are one entry.
+ */
+@Entity
+@Table(name = "medication_catalog",
+       uniqueConstraints = @UniqueConstraint(name = "uk_medication_catalog_kind_name",
+                                             columnNames = {"kind", "normalizedName"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class MedicationCatalog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private Kind kind;
+
+    @NotBlank
+    private String name;
+
+    @NotBlank
+    private String normalizedName;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    public MedicationCatalog(Kind kind, String name, String normalizedName) {
+        this.kind = kind;
+        this.name = name;
+        this.normalizedName = normalizedName;
+    }
+
+    public enum Kind {
+        DRUG, DOSAGE, FREQUENCY, DURATION
+    }
+}
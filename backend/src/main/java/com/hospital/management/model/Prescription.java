@@ -16,14 +16,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "prescriptions")
+@Table(name = "prescriptions",
+       indexes = {
+           @Index(name = "idx_prescriptions_patient", columnList = "patient_id"),
+           @Index(name = "idx_prescriptions_doctor", columnList = "doctor_id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Prescription {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prescription_seq")
+    @SequenceGenerator(name = "prescription_seq", sequenceName = "prescriptions_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -4,9 +4,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 @Entity
 @Table(name = "roles")
+// Roles are inserted once at startup and never changed, which a READ_ONLY cache relies on
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,27 @@
+package com.hospital.management.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current version of the JWTs issued to a user; tokens carrying an older version are rejected.
+ * Only users whose tokens were ever revoked have a row. There is no foreign key to {@link User},
+ * so the revocation outlives a deleted account.
+ */
+@Entity
+@Table(name = "token_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenVersion {
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private int version;
+}
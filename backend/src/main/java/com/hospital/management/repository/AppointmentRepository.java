@@ -1,18 +1,31 @@
 package com.hospital.management.repository;
 
+import com.hospital.management.dto.AppointmentExportRow;
+import com.hospital.management.dto.AppointmentSlot;
+import com.hospital.management.dto.AppointmentView;
 import com.hospital.management.model.Appointment;
 import com.hospital.management.model.Doctor;
 import com.hospital.management.model.Patient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentRepositoryCustom {
     List<Appointment> findByPatient(Patient patient);
     List<Appointment> findByDoctor(Doctor doctor);
     List<Appointment> findByPatientAndStatus(Patient patient, Appointment.AppointmentStatus status);
@@ -23,4 +36,55 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
         LocalTime appointmentTime, 
         Appointment.AppointmentStatus status
     );
-}
\ No newline at end of file
+
+    boolean existsByIdAndPatientUserId(Long id, Long userId);
+    boolean existsByIdAndDoctorUserId(Long id, Long userId);
+
+    @Query("SELECT a.status FROM Appointment a WHERE a.id = :id")
+    Optional<Appointment.AppointmentStatus> findStatusById(Long id);
+
+    @Query("SELECT new com.hospital.management.dto.AppointmentSlot(a.doctor.id, a.appointmentDate, a.appointmentTime) " +
+            "FROM Appointment a WHERE a.id = :id")
+    Optional<AppointmentSlot> findSlotById(Long id);
+
+    @Query("SELECT new com.hospital.management.dto.AppointmentSlot(a.doctor.id, a.appointmentDate, a.appointmentTime) " +
+            "FROM Appointment a WHERE a.slotActive = TRUE AND a.appointmentDate >= :from")
+    List<AppointmentSlot> findActiveSlotsFrom(LocalDate from);
+
+    // Status transitions are applied only if the caller owns the appointment and it is still in the expected state
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Appointment a SET a.status = :newStatus, a.slotActive = NULL, a.updatedAt = :now " +
+            "WHERE a.id = :id AND a.status = :expectedStatus " +
+            "AND a.patient.id IN (SELECT p.id FROM Patient p WHERE p.user.id = :userId)")
+    int updateStatusForPatientUser(Long id, Long userId, Appointment.AppointmentStatus expectedStatus,
+                                   Appointment.AppointmentStatus newStatus, LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Appointment a SET a.status = :newStatus, a.slotActive = NULL, a.updatedAt = :now " +
+            "WHERE a.id = :id AND a.status = :expectedStatus " +
+            "AND a.doctor.id IN (SELECT d.id FROM Doctor d WHERE d.user.id = :userId)")
+    int updateStatusForDoctorUser(Long id, Long userId, Appointment.AppointmentStatus expectedStatus,
+                                  Appointment.AppointmentStatus newStatus, LocalDateTime now);
+
+    // Ownership checks dereference both users
+    @EntityGraph(attributePaths = {"patient.user", "doctor.user"})
+    Optional<Appointment> findWithParticipantsById(Long id);
+
+    @EntityGraph(attributePaths = {"patient.user", "doctor.user"})
+    List<Appointment> findAllWithParticipantsByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.hospital.management.dto.AppointmentExportRow(a.id, a.appointmentDate, a.appointmentTime, " +
+            "a.status, a.consultationFees, p.id, pu.firstName, pu.lastName, d.id, du.firstName, du.lastName, " +
+            "d.specialization, a.createdAt) " +
+            "FROM Appointment a JOIN a.patient p JOIN p.user pu JOIN a.doctor d JOIN d.user du ORDER BY a.id")
+    Stream<AppointmentExportRow> streamAllForExport();
+
+    @Query("SELECT new com.hospital.management.dto.AppointmentView(a.id, a.appointmentDate, a.appointmentTime, " +
+            "a.status, a.consultationFees, a.reason, a.notes, p.id, pu.id, pu.firstName, pu.lastName, d.id, du.id, " +
+            "du.firstName, du.lastName, d.specialization, a.createdAt) " +
+            "FROM Appointment a JOIN a.patient p JOIN p.user pu JOIN a.doctor d JOIN d.user du WHERE a.id = :id")
+    Optional<AppointmentView> findViewById(Long id);
+}
@@ -0,0 +1,18 @@
+package com.hospital.management.repository;
+
+import com.hospital.management.dto.AppointmentCursor;
+import com.hospital.management.dto.AppointmentView;
+import com.hospital.management.model.Appointment;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface AppointmentRepositoryCustom {
+    /**
+     * Keyset page ordered by (appointmentDate, appointmentTime, id), starting strictly after {@code after}.
+     * Null filters are ignored, as is an empty status list; otherwise any of the statuses matches.
+     */
+    List<AppointmentView> findPage(Long patientId, Long doctorId, LocalDate from, LocalDate to,
+                               Collection<Appointment.AppointmentStatus> statuses, AppointmentCursor after, int limit);
+}
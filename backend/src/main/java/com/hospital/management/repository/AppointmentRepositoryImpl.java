@@ -0,0 +1,78 @@
+package com.hospital.management.repository;
+
+import com.hospital.management.dto.AppointmentCursor;
+import com.hospital.management.dto.AppointmentView;
+import com.hospital.management.model.Appointment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AppointmentView> findPage(Long patientId, Long doctorId, LocalDate from, LocalDate to,
+                                      Collection<Appointment.AppointmentStatus> statuses, AppointmentCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AppointmentView> query = cb.createQuery(AppointmentView.class);
+        Root<Appointment> appointment = query.from(Appointment.class);
+        Join<Object, Object> patient = appointment.join("patient");
+        Join<Object, Object> patientUser = patient.join("user");
+        Join<Object, Object> doctor = appointment.join("doctor");
+        Join<Object, Object> doctorUser = doctor.join("user");
+
+        Path<LocalDate> date = appointment.get("appointmentDate");
+        Path<LocalTime> time = appointment.get("appointmentTime");
+        Path<Long> id = appointment.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (patientId != null) {
+            predicates.add(cb.equal(appointment.get("patient").get("id"), patientId));
+        }
+        if (doctorId != null) {
+            predicates.add(cb.equal(appointment.get("doctor").get("id"), doctorId));
+        }
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(date, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(date, to));
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            predicates.add(appointment.get("status").in(statuses));
+        }
+        if (after != null) {
+            // (date, time, id) > (after.date, after.time, after.id)
+            predicates.add(cb.or(
+                    cb.greaterThan(date, after.appointmentDate()),
+                    cb.and(cb.equal(date, after.appointmentDate()), cb.or(
+                            cb.greaterThan(time, after.appointmentTime()),
+                            cb.and(cb.equal(time, after.appointmentTime()), cb.greaterThan(id, after.id()))))));
+        }
+
+        query.select(cb.construct(AppointmentView.class,
+                        id, date, time, appointment.get("status"), appointment.get("consultationFees"),
+                        appointment.get("reason"), appointment.get("notes"),
+                        patient.get("id"), patientUser.get("id"), patientUser.get("firstName"), patientUser.get("lastName"),
+                        doctor.get("id"), doctorUser.get("id"), doctorUser.get("firstName"), doctorUser.get("lastName"),
+                        doctor.get("specialization"), appointment.get("createdAt")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(date), cb.asc(time), cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,16 +1,85 @@
 package com.hospital.management.repository;
 
+import com.hospital.management.dto.DoctorView;
 import com.hospital.management.model.Doctor;
 import com.hospital.management.model.Doctor.Specialization;
 import com.hospital.management.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+    String DOCTOR_VIEW = "SELECT new com.hospital.management.dto.DoctorView(d.id, u.id, u.firstName, u.lastName, " +
+            "u.email, u.phone, u.gender, d.specialization, d.consultationFees, d.experience, d.education, " +
+            "d.biography) FROM Doctor d JOIN d.user u ";
+
     Optional<Doctor> findByUser(User user);
+
+    // Resolved on every appointment request of a doctor; the cached id list then loads from the doctors region
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "doctors-by-user")
+    })
+    Optional<Doctor> findByUserId(Long userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "doctors-by-specialization")
+    })
     List<Doctor> findBySpecialization(Specialization specialization);
-}
\ No newline at end of file
+
+    @Query(DOCTOR_VIEW + "ORDER BY d.id")
+    List<DoctorView> findAllViewRows();
+
+    @Query(DOCTOR_VIEW + "WHERE d.specialization = :specialization ORDER BY d.id")
+    List<DoctorView> findViewRowsBySpecialization(Specialization specialization);
+
+    @Query(DOCTOR_VIEW + "WHERE d.id = :id")
+    Optional<DoctorView> findViewRowById(Long id);
+
+    @Query("SELECT d.id, day FROM Doctor d JOIN d.availableDays day WHERE d.id IN :ids")
+    List<Object[]> findAvailableDays(Collection<Long> ids);
+
+    @Query("SELECT d.id, slot FROM Doctor d JOIN d.availableTimeSlots slot WHERE d.id IN :ids")
+    List<Object[]> findAvailableTimeSlots(Collection<Long> ids);
+
+    default List<DoctorView> findAllViews() {
+        return withSchedules(findAllViewRows());
+    }
+
+    default List<DoctorView> findViewsBySpecialization(Specialization specialization) {
+        return withSchedules(findViewRowsBySpecialization(specialization));
+    }
+
+    default Optional<DoctorView> findViewById(Long id) {
+        return findViewRowById(id).map(view -> withSchedules(List.of(view)).get(0));
+    }
+
+    /**
+     * Fills the schedule collections of all listed doctors with two IN queries per {@value InClause#MAX_IDS}
+     * doctors instead of two per doctor.
+     */
+    private List<DoctorView> withSchedules(List<DoctorView> views) {
+        if (views.isEmpty()) {
+            return views;
+        }
+
+        Map<Long, DoctorView> byId = views.stream()
+                .collect(Collectors.toMap(DoctorView::id, Function.identity()));
+        for (Object[] row : InClause.query(byId.keySet(), this::findAvailableDays)) {
+            byId.get((Long) row[0]).availableDays().add((Doctor.DayOfWeek) row[1]);
+        }
+        for (Object[] row : InClause.query(byId.keySet(), this::findAvailableTimeSlots)) {
+            byId.get((Long) row[0]).availableTimeSlots().add((String) row[1]);
+        }
+        return views;
+    }
+}
@@ -0,0 +1,31 @@
+package com.hospital.management.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs an {@code IN :ids} query over id lists of any length. The ids are bound in chunks of
+ * {@value #MAX_IDS}, since a statement may carry only a limited number of bind parameters
+ * (32767 on PostgreSQL) and very long IN lists plan poorly on every database.
+ */
+final class InClause {
+    static final int MAX_IDS = 1000;
+
+    private InClause() {
+    }
+
+    static <T> List<T> query(Collection<Long> ids, Function<Collection<Long>, List<T>> query) {
+        if (ids.size() <= MAX_IDS) {
+            return query.apply(ids);
+        }
+
+        List<Long> all = new ArrayList<>(ids);
+        List<T> results = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += MAX_IDS) {
+            results.addAll(query.apply(all.subList(from, Math.min(from + MAX_IDS, all.size()))));
+        }
+        return results;
+    }
+}
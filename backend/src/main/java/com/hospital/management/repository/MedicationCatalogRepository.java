@@ -0,0 +1,12 @@
+package com.hospital.management.repository;
+
+import com.hospital.management.model.MedicationCatalog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MedicationCatalogRepository extends JpaRepository<MedicationCatalog, Long> {
+    Optional<MedicationCatalog> findByKindAndNormalizedName(MedicationCatalog.Kind kind, String normalizedName);
+}
@@ -0,0 +1,48 @@
+package com.hospital.management.repository;
+
+import com.hospital.management.dto.MedicationExportRow;
+import com.hospital.management.model.Medication;
+import com.hospital.management.model.MedicationCatalog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface MedicationRepository extends JpaRepository<Medication, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.hospital.management.dto.MedicationExportRow(m.prescription.id, m.name, m.dosage, " +
+            "m.frequency, m.duration, m.instructions) FROM Medication m ORDER BY m.prescription.id, m.id")
+    Stream<MedicationExportRow> streamAllForExport();
+
+    // Prescribed count per catalog drug, an integer group-by over the catalog_id index
+    @Query("SELECT m.catalog.id, COUNT(m) FROM Medication m WHERE m.catalog IS NOT NULL GROUP BY m.catalog.id")
+    List<Object[]> countByCatalog();
+
+    @Query("SELECT m.dosageCatalog.id, COUNT(m) FROM Medication m WHERE m.dosageCatalog IS NOT NULL " +
+            "GROUP BY m.dosageCatalog.id")
+    List<Object[]> countByDosageCatalog();
+
+    @Query("SELECT m.frequencyCatalog.id, COUNT(m) FROM Medication m WHERE m.frequencyCatalog IS NOT NULL " +
+            "GROUP BY m.frequencyCatalog.id")
+    List<Object[]> countByFrequencyCatalog();
+
+    @Query("SELECT m.durationCatalog.id, COUNT(m) FROM Medication m WHERE m.durationCatalog IS NOT NULL " +
+            "GROUP BY m.durationCatalog.id")
+    List<Object[]> countByDurationCatalog();
+
+    @Query("SELECT DISTINCT m.name FROM Medication m WHERE m.catalog IS NULL")
+    List<String> findUncataloguedNames();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Medication m SET m.catalog = :catalog WHERE m.catalog IS NULL AND m.name = :name")
+    int linkCatalog(String name, MedicationCatalog catalog);
+}
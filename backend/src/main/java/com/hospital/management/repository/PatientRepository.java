@@ -10,4 +10,5 @@ import java.util.Optional;
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
     Optional<Patient> findByUser(User user);
+    Optional<Patient> findByUserId(Long userId);
 }
\ No newline at end of file
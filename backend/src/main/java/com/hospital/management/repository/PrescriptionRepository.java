@@ -1,18 +1,126 @@
 package com.hospital.management.repository;
 
+import com.hospital.management.dto.MedicationView;
+import com.hospital.management.dto.PrescriptionDocumentRow;
+import com.hospital.management.dto.PrescriptionExportRow;
+import com.hospital.management.dto.PrescriptionView;
 import com.hospital.management.model.Appointment;
 import com.hospital.management.model.Doctor;
 import com.hospital.management.model.Patient;
 import com.hospital.management.model.Prescription;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
+    String PRESCRIPTION_VIEW = "SELECT new com.hospital.management.dto.PrescriptionView(p.id, p.appointment.id, " +
+            "pa.id, pu.id, pu.firstName, pu.lastName, d.id, du.id, du.firstName, du.lastName, d.specialization, " +
+            "p.diagnosis, p.additionalNotes, p.followUpDate, p.isPaid, p.createdAt) " +
+            "FROM Prescription p JOIN p.patient pa JOIN pa.user pu JOIN p.doctor d JOIN d.user du ";
+
     List<Prescription> findByPatient(Patient patient);
     List<Prescription> findByDoctor(Doctor doctor);
     Optional<Prescription> findByAppointment(Appointment appointment);
-}
\ No newline at end of file
+
+    boolean existsByAppointmentId(Long appointmentId);
+
+    @Query("SELECT p.appointment.id FROM Prescription p WHERE p.appointment.id IN :appointmentIds")
+    List<Long> findPrescribedAppointmentIds(Collection<Long> appointmentIds);
+
+    boolean existsByIdAndPatientUserId(Long id, Long userId);
+    boolean existsByIdAndDoctorUserId(Long id, Long userId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Prescription p SET p.isPaid = true, p.updatedAt = :now WHERE p.id = :id")
+    int markPaid(Long id, LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Prescription p SET p.isPaid = true, p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.patient.id IN (SELECT pa.id FROM Patient pa WHERE pa.user.id = :userId)")
+    int markPaidForPatientUser(Long id, Long userId, LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.hospital.management.dto.PrescriptionExportRow(p.id, p.appointment.id, pa.id, pu.firstName, " +
+            "pu.lastName, d.id, du.firstName, du.lastName, p.diagnosis, p.followUpDate, p.isPaid, p.createdAt) " +
+            "FROM Prescription p JOIN p.patient pa JOIN pa.user pu JOIN p.doctor d JOIN d.user du ORDER BY p.id")
+    Stream<PrescriptionExportRow> streamAllForExport();
+
+    // Prescriptions and their medications in one ordered cursor; null filters are ignored
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT new com.hospital.management.dto.PrescriptionDocumentRow(p.id, p.appointment.id, pa.id, pu.id, " +
+            "pu.firstName, pu.lastName, d.id, du.id, du.firstName, du.lastName, d.specialization, p.diagnosis, " +
+            "p.additionalNotes, p.followUpDate, p.isPaid, p.createdAt, m.id, m.name, m.dosage, m.frequency, " +
+            "m.duration, m.instructions) " +
+            "FROM Prescription p JOIN p.patient pa JOIN pa.user pu JOIN p.doctor d JOIN d.user du " +
+            "LEFT JOIN p.medications m " +
+            "WHERE (:patientId IS NULL OR pa.id = :patientId) AND (:doctorId IS NULL OR d.id = :doctorId) " +
+            "AND (:patientUserId IS NULL OR pu.id = :patientUserId) " +
+            "AND (:doctorUserId IS NULL OR du.id = :doctorUserId) " +
+            "AND (:from IS NULL OR p.createdAt >= :from) AND (:to IS NULL OR p.createdAt < :to) " +
+            "ORDER BY p.id, m.id")
+    Stream<PrescriptionDocumentRow> streamForDocuments(Long patientId, Long doctorId, Long patientUserId,
+                                                       Long doctorUserId, LocalDateTime from, LocalDateTime to);
+
+    @Query(PRESCRIPTION_VIEW + "ORDER BY p.id")
+    List<PrescriptionView> findAllViewRows();
+
+    @Query(PRESCRIPTION_VIEW + "WHERE pu.id = :userId ORDER BY p.id")
+    List<PrescriptionView> findViewRowsByPatientUserId(Long userId);
+
+    @Query(PRESCRIPTION_VIEW + "WHERE du.id = :userId ORDER BY p.id")
+    List<PrescriptionView> findViewRowsByDoctorUserId(Long userId);
+
+    @Query(PRESCRIPTION_VIEW + "WHERE p.id = :id")
+    Optional<PrescriptionView> findViewRowById(Long id);
+
+    @Query("SELECT new com.hospital.management.dto.MedicationView(m.id, m.prescription.id, m.name, m.dosage, " +
+            "m.frequency, m.duration, m.instructions) FROM Medication m WHERE m.prescription.id IN :ids ORDER BY m.id")
+    List<MedicationView> findMedicationViews(Collection<Long> ids);
+
+    default List<PrescriptionView> findAllViews() {
+        return withMedications(findAllViewRows());
+    }
+
+    default List<PrescriptionView> findViewsByPatientUserId(Long userId) {
+        return withMedications(findViewRowsByPatientUserId(userId));
+    }
+
+    default List<PrescriptionView> findViewsByDoctorUserId(Long userId) {
+        return withMedications(findViewRowsByDoctorUserId(userId));
+    }
+
+    default Optional<PrescriptionView> findViewById(Long id) {
+        return findViewRowById(id).map(view -> withMedications(List.of(view)).get(0));
+    }
+
+    /**
+     * Attaches medications to all listed prescriptions with one IN query per {@value InClause#MAX_IDS}
+     * prescriptions.
+     */
+    private List<PrescriptionView> withMedications(List<PrescriptionView> views) {
+        if (views.isEmpty()) {
+            return views;
+        }
+
+        Map<Long, PrescriptionView> byId = views.stream()
+                .collect(Collectors.toMap(PrescriptionView::id, Function.identity()));
+        for (MedicationView medication : InClause.query(byId.keySet(), this::findMedicationViews)) {
+            byId.get(medication.prescriptionId()).medications().add(medication);
+        }
+        return views;
+    }
+}
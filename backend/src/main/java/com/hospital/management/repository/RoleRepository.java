@@ -2,12 +2,20 @@ package com.hospital.management.repository;
 
 import com.hospital.management.model.Role;
 import com.hospital.management.model.Role.ERole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Integer> {
+    // Three rows that never change; served from the query cache after the first lookup
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "roles-by-name")
+    })
     Optional<Role> findByName(ERole name);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.hospital.management.repository;
+
+import com.hospital.management.model.TokenVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TokenVersionRepository extends JpaRepository<TokenVersion, Long> {
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE TokenVersion t SET t.version = t.version + 1 WHERE t.userId = :userId")
+    int increment(Long userId);
+}
@@ -0,0 +1,27 @@
+package com.hospital.management.security;
+
+import com.hospital.management.security.services.UserDetailsImpl;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * The user of the current request, as set by the JWT filter. Role checks go through the
+ * principal, e.g. {@code CurrentUser.get().isPatient()}.
+ */
+public final class CurrentUser {
+    private CurrentUser() {
+    }
+
+    /**
+     * Returns the authenticated user, or throws {@link AuthenticationCredentialsNotFoundException}
+     * (401) if the request carries no valid token.
+     */
+    public static UserDetailsImpl get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user) {
+            return user;
+        }
+        throw new AuthenticationCredentialsNotFoundException("Full authentication is required");
+    }
+}
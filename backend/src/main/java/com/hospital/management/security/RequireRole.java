@@ -0,0 +1,17 @@
+package com.hospital.management.security;
+
+import com.hospital.management.model.Role;
+
+import java.lang.annotation.*;
+
+/**
+ * Restricts a controller method, or every method of a controller, to users holding at least one
+ * of the given roles. Enforced by {@link RoleAuthorizationInterceptor}; a method annotation
+ * replaces the one on its class.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequireRole {
+    Role.ERole[] value();
+}
@@ -0,0 +1,68 @@
+package com.hospital.management.security;
+
+import com.hospital.management.model.Role;
+import com.hospital.management.security.services.UserDetailsImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces {@link RequireRole}. The required roles of a handler method are resolved once and kept
+ * as an {@link EnumSet}, so each request costs a map lookup and a bit test against the principal.
+ * A denied request throws {@link AccessDeniedException}, which Spring Security turns into a 403,
+ * or a 401 for an anonymous caller, as it did for method security.
+ */
+public class RoleAuthorizationInterceptor implements HandlerInterceptor {
+    // Marks handler methods without @RequireRole; compared by identity
+    private static final EnumSet<Role.ERole> UNRESTRICTED = EnumSet.noneOf(Role.ERole.class);
+
+    private final Map<Method, EnumSet<Role.ERole>> requiredRoles = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        EnumSet<Role.ERole> required = requiredRoles.get(handlerMethod.getMethod());
+        if (required == null) {
+            required = resolve(handlerMethod);
+            requiredRoles.put(handlerMethod.getMethod(), required);
+        }
+        if (required == UNRESTRICTED) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user
+                && user.hasAnyRole(required)) {
+            return true;
+        }
+        throw new AccessDeniedException("Access Denied");
+    }
+
+    private static EnumSet<Role.ERole> resolve(HandlerMethod handlerMethod) {
+        RequireRole annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RequireRole.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RequireRole.class);
+        }
+        if (annotation == null) {
+            return UNRESTRICTED;
+        }
+        if (annotation.value().length == 0) {
+            throw new IllegalStateException("@RequireRole without roles on " + handlerMethod);
+        }
+        return EnumSet.copyOf(Arrays.asList(annotation.value()));
+    }
+}
@@ -2,14 +2,16 @@ package com.hospital.management.security;
 
 import com.hospital.management.security.jwt.AuthEntryPointJwt;
 import com.hospital.management.security.jwt.AuthTokenFilter;
+import com.hospital.management.security.services.BoundedPasswordEncoder;
 import com.hospital.management.security.services.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -24,8 +26,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
 
 @Configuration
+// Controller roles are checked by RoleAuthorizationInterceptor (@RequireRole), not by method security
 @EnableWebSecurity
-@EnableMethodSecurity
 public class WebSecurityConfig {
     @Autowired
     UserDetailsServiceImpl userDetailsService;
@@ -33,6 +35,21 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.security.password-hashing.concurrency:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int passwordHashingConcurrency;
+
+    @Value("${app.security.password-hashing.queue-capacity:100}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${app.security.password-hashing.timeout-ms:3000}")
+    private long passwordHashingTimeoutMs;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -44,6 +61,8 @@ public class WebSecurityConfig {
         
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes passwords stored below the target BCrypt cost on successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         
         return authProvider;
     }
@@ -55,7 +74,12 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(bcryptStrength),
+                passwordHashingConcurrency,
+                passwordHashingQueueCapacity,
+                passwordHashingTimeoutMs,
+                meterRegistry);
     }
 
     @Bean
@@ -68,6 +92,12 @@ public class WebSecurityConfig {
                 auth.requestMatchers(org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher("/api/auth/**")).permitAll()
                     .requestMatchers(org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher("/api/doctors/public/**")).permitAll()
                     .requestMatchers(org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher("/h2-console/**")).permitAll()
+                    // Load balancers and the Prometheus scraper carry no JWT; metrics hold no patient data
+                    .requestMatchers(org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher("/actuator/health")).permitAll()
+                    .requestMatchers(org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher("/actuator/prometheus")).permitAll()
+                    .requestMatchers(org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher("/actuator/**")).hasRole("ADMIN")
+                    // Let sendError() responses keep their status instead of turning into 401
+                    .requestMatchers(org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher("/error")).permitAll()
                     .anyRequest().authenticated()
             );
         
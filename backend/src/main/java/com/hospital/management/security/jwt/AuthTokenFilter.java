@@ -1,6 +1,8 @@
 package com.hospital.management.security.jwt;
 
+import com.hospital.management.security.services.UserDetailsImpl;
 import com.hospital.management.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,9 +10,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -24,6 +26,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${app.jwt.stateless:true}")
+    private boolean stateless;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -31,10 +39,22 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            UserDetailsImpl userDetails = jwt != null ? verifiedTokenCache.get(jwt) : null;
+            if (jwt != null && userDetails == null) {
+                Claims claims = jwtUtils.parseAndValidate(jwt);
+                if (claims != null) {
+                    userDetails = jwtUtils.getUserDetailsFromJwtClaims(claims);
+                    if (userDetails != null) {
+                        verifiedTokenCache.put(jwt, userDetails, claims);
+                    }
+                }
+            }
+            if (userDetails != null && !stateless) {
+                // The cache only spares the signature check, the user is still loaded on every request
+                userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(userDetails.getUsername());
+            }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
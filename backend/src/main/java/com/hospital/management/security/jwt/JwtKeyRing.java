@@ -0,0 +1,85 @@
+package com.hospital.management.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of HMAC signing keys indexed by key id ({@code kid}).
+ * New tokens are signed with the active key; retired keys are still accepted for verification
+ * so tokens issued before a rotation keep working until they expire. Tokens without a key id predate
+ * key ids altogether, so they are verified with the legacy key, the one that signed them.
+ */
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+    private final String activeKeyId;
+    private final Key activeKey;
+    private final Key legacyKey;
+    private final Map<String, Key> keys;
+
+    /**
+     * @param activeKeyId  id of the key used for signing
+     * @param activeSecret base64 encoded secret of the active key
+     * @param retiredKeys  comma separated {@code kid:base64secret} pairs accepted for verification only
+     * @param legacyKeyId  id of the original key, active or retired, that verifies tokens without a key id
+     */
+    public JwtKeyRing(String activeKeyId, String activeSecret, String retiredKeys, String legacyKeyId) {
+        Map<String, Key> ring = new HashMap<>();
+        if (retiredKeys != null) {
+            for (String entry : retiredKeys.split(",")) {
+                String trimmed = entry.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int separator = trimmed.indexOf(':');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Retired JWT key must be in kid:secret form");
+                }
+                ring.put(trimmed.substring(0, separator), decode(trimmed.substring(separator + 1)));
+            }
+        }
+
+        this.activeKeyId = activeKeyId;
+        this.activeKey = decode(activeSecret);
+        ring.put(activeKeyId, activeKey);
+        this.keys = Map.copyOf(ring);
+        // Null once the original key is dropped from the ring, which ends acceptance of such tokens
+        this.legacyKey = legacyKeyId != null ? ring.get(legacyKeyId) : null;
+    }
+
+    private static Key decode(String secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public Key getActiveKey() {
+        return activeKey;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String keyId = header.getKeyId();
+        // Tokens issued before key ids were introduced carry no kid
+        if (keyId == null) {
+            if (legacyKey == null) {
+                throw new SignatureException("JWT has no key id and no legacy key is configured");
+            }
+            return legacyKey;
+        }
+
+        Key key = keys.get(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+}
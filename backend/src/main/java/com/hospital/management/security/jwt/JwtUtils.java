@@ -1,17 +1,22 @@
 package com.hospital.management.security.jwt;
 
+import com.hospital.management.model.Role;
 import com.hospital.management.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
 
 @Component
 public class JwtUtils {
@@ -20,39 +25,78 @@ public class JwtUtils {
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
+    @Value("${app.jwt.key-id:primary}")
+    private String jwtKeyId;
+
+    @Value("${app.jwt.retired-keys:}")
+    private String jwtRetiredKeys;
+
+    @Value("${app.jwt.legacy-key-id:primary}")
+    private String jwtLegacyKeyId;
+
     @Value("${app.jwt.expiration}")
     private int jwtExpirationMs;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JwtKeyRing keyRing;
+
+    private JwtParser parser;
+
+    private Timer validTimer;
+
+    private Timer invalidTimer;
+
+    @PostConstruct
+    public void init() {
+        // Keys and parser are immutable and thread-safe, so they are built once and shared
+        keyRing = new JwtKeyRing(jwtKeyId, jwtSecret, jwtRetiredKeys, jwtLegacyKeyId);
+        parser = Jwts.parserBuilder().setSigningKeyResolver(keyRing).build();
+
+        validTimer = Timer.builder("security.jwt.verify").tag("result", "valid").register(meterRegistry);
+        invalidTimer = Timer.builder("security.jwt.verify").tag("result", "invalid").register(meterRegistry);
+    }
+
     public String generateJwtToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKeyId())
                 .setSubject((userPrincipal.getUsername()))
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .claim("id", userPrincipal.getId())
+                .claim("ver", tokenVersionRegistry.currentVersion(userPrincipal.getId()))
                 .claim("firstName", userPrincipal.getFirstName())
                 .claim("lastName", userPrincipal.getLastName())
-                .claim("roles", userPrincipal.getAuthorities().stream()
-                        .map(item -> item.getAuthority())
-                        .toList())
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .claim("roles", userPrincipal.getRoleNames())
+                .signWith(keyRing.getActiveKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseAndValidate(authToken) != null;
+    }
+
+    /**
+     * Verifies the token and returns its claims in a single parse, or {@code null} if the token is invalid.
+     */
+    public Claims parseAndValidate(String authToken) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-            return true;
+            Claims claims = parser.parseClaimsJws(authToken).getBody();
+            sample.stop(validTimer);
+            return claims;
+        } catch (SecurityException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -63,6 +107,45 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
+        sample.stop(invalidTimer);
+        return null;
+    }
+
+    /**
+     * Rebuilds the principal from the claims embedded by {@link #generateJwtToken}, or returns
+     * {@code null} if the token has been revoked.
+     */
+    public UserDetailsImpl getUserDetailsFromJwtClaims(Claims claims) {
+        if (isRevoked(claims)) {
+            return null;
+        }
+        Long id = claims.get("id", Number.class).longValue();
+
+        EnumSet<Role.ERole> roles = EnumSet.noneOf(Role.ERole.class);
+        for (Object role : claims.get("roles", List.class)) {
+            roles.add(Role.ERole.valueOf(role.toString()));
+        }
+
+        return new UserDetailsImpl(
+                id,
+                claims.get("firstName", String.class),
+                claims.get("lastName", String.class),
+                claims.getSubject(),
+                null,
+                null,
+                roles);
+    }
+
+    /**
+     * Whether the token was issued before the latest revocation of its user's tokens.
+     */
+    public boolean isRevoked(Claims claims) {
+        Long id = claims.get("id", Number.class).longValue();
+        Number version = claims.get("ver", Number.class);
+        if (!tokenVersionRegistry.isCurrent(id, version != null ? version.intValue() : 0)) {
+            logger.error("JWT token has been revoked for user id: {}", id);
+            return true;
+        }
         return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package com.hospital.management.security.jwt;
+
+import com.hospital.management.model.TokenVersion;
+import com.hospital.management.repository.TokenVersionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a per-user token version so issued JWTs can be revoked without a database read.
+ * Versions are stored in the token_versions table and mirrored here. Only users whose tokens have
+ * been revoked get an entry, so the map stays small. Other instances pick up revocations on the
+ * next refresh.
+ *
+ * <p>Call {@link #revoke} whenever a user's email, password or roles change or the user is deleted.
+ */
+@Component
+public class TokenVersionRegistry {
+    private final ConcurrentHashMap<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TokenVersionRepository tokenVersionRepository;
+
+    // Loaded before the server accepts requests, so revoked tokens are never honoured after a restart
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.jwt.token-version-refresh-ms:60000}",
+            initialDelayString = "${app.jwt.token-version-refresh-ms:60000}")
+    public void refresh() {
+        for (TokenVersion version : tokenVersionRepository.findAll()) {
+            versions.merge(version.getUserId(), version.getVersion(), Math::max);
+        }
+    }
+
+    public int currentVersion(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion >= currentVersion(userId);
+    }
+
+    /**
+     * Invalidates every token issued to the user so far. The new version is written in the
+     * caller's transaction and applies here once it commits.
+     */
+    @Transactional
+    public void revoke(Long userId) {
+        if (tokenVersionRepository.increment(userId) == 0) {
+            tokenVersionRepository.save(new TokenVersion(userId, 1));
+        }
+        int version = tokenVersionRepository.findById(userId).map(TokenVersion::getVersion).orElseThrow();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.merge(userId, version, Math::max);
+            }
+        });
+    }
+}
@@ -0,0 +1,149 @@
+package com.hospital.management.security.jwt;
+
+import com.hospital.management.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded LRU cache of already verified bearer tokens, keyed by a SHA-256 digest of the token.
+ * A hit skips signature verification and claim parsing; entries expire with the token itself
+ * and are re-checked against the {@link TokenVersionRegistry} so revocation still applies.
+ *
+ * <p>Only the principal rebuilt from the token's claims is cached. With {@code app.jwt.stateless=false}
+ * the filter still loads the user from the database on a hit, so account changes apply at once.
+ */
+@Component
+public class VerifiedTokenCache {
+    @Value("${app.jwt.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private Map<String, Entry> entries;
+
+    @PostConstruct
+    public void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        FunctionCounter.builder("security.jwt.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.jwt.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("security.jwt.cache.size", this, VerifiedTokenCache::size)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the principal built from the claims of the token, or {@code null} if it is not cached, expired or revoked.
+     */
+    public UserDetailsImpl get(String token) {
+        if (!enabled) {
+            return null;
+        }
+
+        String key = digest(token);
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (entry == null || !tokenVersionRegistry.isCurrent(entry.principal.getId(), entry.version)) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.principal;
+    }
+
+    public void put(String token, UserDetailsImpl principal, Claims claims) {
+        if (!enabled || claims.getExpiration() == null) {
+            return;
+        }
+
+        Number version = claims.get("ver", Number.class);
+        Entry entry = new Entry(principal, claims.getExpiration().getTime(), version != null ? version.intValue() : 0);
+        String key = digest(token);
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(UserDetailsImpl principal, long expiresAt, int version) {
+    }
+}
@@ -1,19 +1,26 @@
 package com.hospital.management.security.services;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.hospital.management.model.Role;
 import com.hospital.management.model.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.*;
 
+/**
+ * The authenticated user. Roles are kept as an {@link EnumSet} built once per principal, so role
+ * checks such as {@link #isPatient()} are a bit test instead of a scan over authority strings.
+ */
 public class UserDetailsImpl implements UserDetails {
     private static final long serialVersionUID = 1L;
 
+    // One shared authority instance per role, indexed by ordinal
+    private static final GrantedAuthority[] ROLE_AUTHORITIES = Arrays.stream(Role.ERole.values())
+            .map(role -> new SimpleGrantedAuthority(role.name()))
+            .toArray(GrantedAuthority[]::new);
+
     private Long id;
     private String firstName;
     private String lastName;
@@ -23,23 +30,37 @@ public class UserDetailsImpl implements UserDetails {
     @JsonIgnore
     private String password;
 
-    private Collection<? extends GrantedAuthority> authorities;
+    private EnumSet<Role.ERole> roles;
+
+    private List<GrantedAuthority> authorities;
+
+    private List<String> roleNames;
 
     public UserDetailsImpl(Long id, String firstName, String lastName, String email, String phone, String password,
-                          Collection<? extends GrantedAuthority> authorities) {
+                          Set<Role.ERole> roles) {
         this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
         this.email = email;
         this.phone = phone;
         this.password = password;
-        this.authorities = authorities;
+        this.roles = roles.isEmpty() ? EnumSet.noneOf(Role.ERole.class) : EnumSet.copyOf(roles);
+
+        List<GrantedAuthority> authorities = new ArrayList<>(this.roles.size());
+        List<String> roleNames = new ArrayList<>(this.roles.size());
+        for (Role.ERole role : this.roles) {
+            authorities.add(ROLE_AUTHORITIES[role.ordinal()]);
+            roleNames.add(role.name());
+        }
+        this.authorities = Collections.unmodifiableList(authorities);
+        this.roleNames = Collections.unmodifiableList(roleNames);
     }
 
     public static UserDetailsImpl build(User user) {
-        List<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-                .collect(Collectors.toList());
+        EnumSet<Role.ERole> roles = EnumSet.noneOf(Role.ERole.class);
+        for (Role role : user.getRoles()) {
+            roles.add(role.getName());
+        }
 
         return new UserDetailsImpl(
                 user.getId(),
@@ -48,7 +69,7 @@ public class UserDetailsImpl implements UserDetails {
                 user.getEmail(),
                 user.getPhone(),
                 user.getPassword(),
-                authorities);
+                roles);
     }
 
     @Override
@@ -56,6 +77,38 @@ public class UserDetailsImpl implements UserDetails {
         return authorities;
     }
 
+    /**
+     * Role names as stored in the token and returned on login, e.g. {@code ROLE_PATIENT}.
+     */
+    public List<String> getRoleNames() {
+        return roleNames;
+    }
+
+    public boolean hasRole(Role.ERole role) {
+        return roles.contains(role);
+    }
+
+    public boolean hasAnyRole(Set<Role.ERole> candidates) {
+        for (Role.ERole role : candidates) {
+            if (roles.contains(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isPatient() {
+        return roles.contains(Role.ERole.ROLE_PATIENT);
+    }
+
+    public boolean isDoctor() {
+        return roles.contains(Role.ERole.ROLE_DOCTOR);
+    }
+
+    public boolean isAdmin() {
+        return roles.contains(Role.ERole.ROLE_ADMIN);
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,46 @@
+package com.hospital.management.service;
+
+import com.hospital.management.repository.AppointmentRepository;
+import com.hospital.management.repository.PrescriptionRepository;
+import com.hospital.management.security.services.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ownership checks answered by a single indexed existence query instead of loading the entity graph.
+ * Admins can access everything; patients and doctors only the records they take part in.
+ */
+@Service
+public class AccessCheckService {
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    public boolean canAccessAppointment(UserDetailsImpl user, Long appointmentId) {
+        if (user.isPatient()) {
+            return appointmentRepository.existsByIdAndPatientUserId(appointmentId, user.getId());
+        } else if (user.isDoctor()) {
+            return appointmentRepository.existsByIdAndDoctorUserId(appointmentId, user.getId());
+        }
+        return user.isAdmin();
+    }
+
+    public boolean canAccessPrescription(UserDetailsImpl user, Long prescriptionId) {
+        if (user.isPatient()) {
+            return prescriptionRepository.existsByIdAndPatientUserId(prescriptionId, user.getId());
+        } else if (user.isDoctor()) {
+            return prescriptionRepository.existsByIdAndDoctorUserId(prescriptionId, user.getId());
+        }
+        return user.isAdmin();
+    }
+
+    public boolean isAppointmentPatient(Long appointmentId, Long userId) {
+        return appointmentRepository.existsByIdAndPatientUserId(appointmentId, userId);
+    }
+
+    public boolean isAppointmentDoctor(Long appointmentId, Long userId) {
+        return appointmentRepository.existsByIdAndDoctorUserId(appointmentId, userId);
+    }
+}
@@ -0,0 +1,142 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.AppointmentRequest;
+import com.hospital.management.dto.AppointmentSlot;
+import com.hospital.management.model.Appointment;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.model.Patient;
+import com.hospital.management.repository.AppointmentRepository;
+import com.hospital.management.repository.DoctorRepository;
+import com.hospital.management.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+@Service
+public class AppointmentService {
+    public enum Outcome {
+        UPDATED, NOT_FOUND, FORBIDDEN, INVALID_STATUS
+    }
+
+    public record StatusChange(Outcome outcome, Appointment.AppointmentStatus currentStatus) {
+    }
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AccessCheckService accessCheckService;
+
+    @Autowired
+    private SlotReservationRegistry slotReservations;
+
+    /**
+     * Books the requested slot for the patient behind {@code userId}.
+     * Returns {@code false} if the slot is already taken; known-taken slots are rejected without a query,
+     * and the unique constraint on active slots settles any race the in-memory check cannot see.
+     */
+    public boolean book(Long userId, AppointmentRequest request) {
+        AppointmentSlot slot = new AppointmentSlot(request.getDoctorId(),
+                request.getAppointmentDate(), request.getAppointmentTime());
+        if (!slotReservations.tryReserve(slot)) {
+            return false;
+        }
+
+        boolean keepReservation = false;
+        try {
+            Patient patient = patientRepository.findByUserId(userId)
+                    .orElseThrow(() -> new RuntimeException("Patient not found"));
+            // A lookup by id is served from the second-level cache, unlike an exists query
+            Doctor doctor = doctorRepository.findById(request.getDoctorId())
+                    .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + request.getDoctorId()));
+
+            Appointment appointment = new Appointment();
+            appointment.setPatient(patient);
+            appointment.setDoctor(doctor);
+            appointment.setAppointmentDate(request.getAppointmentDate());
+            appointment.setAppointmentTime(request.getAppointmentTime());
+            appointment.setConsultationFees(request.getConsultationFees());
+            appointment.setReason(request.getReason());
+            appointment.setNotes(request.getNotes());
+            appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
+
+            try {
+                appointmentRepository.saveAndFlush(appointment);
+            } catch (DataIntegrityViolationException e) {
+                // Most likely booked on another node. The reservation is released all the same: this node
+                // would never learn of a cancellation there, and the unique key keeps rejecting the slot
+                return false;
+            }
+            keepReservation = true;
+            return true;
+        } finally {
+            if (!keepReservation) {
+                slotReservations.release(slot);
+            }
+        }
+    }
+
+    /**
+     * Moves a SCHEDULED appointment owned by the given patient user to {@code newStatus} with one conditional UPDATE.
+     */
+    @Transactional
+    public StatusChange changeStatusAsPatient(Long appointmentId, Long userId, Appointment.AppointmentStatus newStatus) {
+        int updated = appointmentRepository.updateStatusForPatientUser(appointmentId, userId,
+                Appointment.AppointmentStatus.SCHEDULED, newStatus, LocalDateTime.now());
+        if (updated == 1) {
+            releaseSlotAfterCommit(appointmentId);
+            return new StatusChange(Outcome.UPDATED, newStatus);
+        }
+        return explainRejection(appointmentId, () -> accessCheckService.isAppointmentPatient(appointmentId, userId));
+    }
+
+    /**
+     * Moves a SCHEDULED appointment owned by the given doctor user to {@code newStatus} with one conditional UPDATE.
+     */
+    @Transactional
+    public StatusChange changeStatusAsDoctor(Long appointmentId, Long userId, Appointment.AppointmentStatus newStatus) {
+        int updated = appointmentRepository.updateStatusForDoctorUser(appointmentId, userId,
+                Appointment.AppointmentStatus.SCHEDULED, newStatus, LocalDateTime.now());
+        if (updated == 1) {
+            releaseSlotAfterCommit(appointmentId);
+            return new StatusChange(Outcome.UPDATED, newStatus);
+        }
+        return explainRejection(appointmentId, () -> accessCheckService.isAppointmentDoctor(appointmentId, userId));
+    }
+
+    // The slot only becomes bookable again once the status change is visible to other transactions
+    private void releaseSlotAfterCommit(Long appointmentId) {
+        appointmentRepository.findSlotById(appointmentId).ifPresent(slot ->
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        slotReservations.release(slot);
+                    }
+                }));
+    }
+
+    // Only reached when the UPDATE matched nothing, to report why
+    private StatusChange explainRejection(Long appointmentId, BooleanSupplier owner) {
+        Optional<Appointment.AppointmentStatus> status = appointmentRepository.findStatusById(appointmentId);
+        if (status.isEmpty()) {
+            return new StatusChange(Outcome.NOT_FOUND, null);
+        }
+        if (!owner.getAsBoolean()) {
+            return new StatusChange(Outcome.FORBIDDEN, status.get());
+        }
+        return new StatusChange(Outcome.INVALID_STATUS, status.get());
+    }
+}
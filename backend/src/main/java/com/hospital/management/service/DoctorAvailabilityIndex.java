@@ -0,0 +1,177 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.AppointmentSlot;
+import com.hospital.management.dto.DoctorView;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.repository.DoctorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Free-slot lookups for doctors. Each doctor's weekly schedule is parsed once into sorted slot start
+ * times; booked slots come from the {@link SlotReservationRegistry}, which booking, cancellation and
+ * completion already keep current. A lookup therefore never touches the database.
+ */
+@Component
+public class DoctorAvailabilityIndex {
+    private static final Logger logger = LoggerFactory.getLogger(DoctorAvailabilityIndex.class);
+
+    private static final List<DateTimeFormatter> SLOT_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("H:mm"),
+            DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("h:mma", Locale.ENGLISH));
+
+    @Value("${app.availability.horizon-days:90}")
+    private int horizonDays;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private SlotReservationRegistry slotReservations;
+
+    private final ConcurrentHashMap<Long, Schedule> schedules = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (DoctorView doctor : doctorRepository.findAllViews()) {
+            refresh(doctor.id(), doctor.specialization(), doctor.availableDays(), doctor.availableTimeSlots());
+        }
+        logger.info("Indexed availability for {} doctors", schedules.size());
+    }
+
+    public void refresh(Doctor doctor) {
+        refresh(doctor.getId(), doctor.getSpecialization(), doctor.getAvailableDays(), doctor.getAvailableTimeSlots());
+    }
+
+    public void remove(Long doctorId) {
+        schedules.remove(doctorId);
+    }
+
+    public boolean contains(Long doctorId) {
+        return schedules.containsKey(doctorId);
+    }
+
+    /**
+     * Free slots of one doctor between {@code from} and {@code to} inclusive, clipped to today and the booking horizon.
+     */
+    public List<AppointmentSlot> findFreeSlots(Long doctorId, LocalDate from, LocalDate to) {
+        Schedule schedule = schedules.get(doctorId);
+        if (schedule == null) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate last = min(to, now.toLocalDate().plusDays(horizonDays));
+        List<AppointmentSlot> slots = new ArrayList<>();
+        for (LocalDate date = max(from, now.toLocalDate()); !date.isAfter(last); date = date.plusDays(1)) {
+            if (!schedule.days().contains(date.getDayOfWeek())) {
+                continue;
+            }
+            for (LocalTime start : schedule.slotStarts()) {
+                AppointmentSlot slot = new AppointmentSlot(doctorId, date, start);
+                if (date.atTime(start).isAfter(now) && !slotReservations.isReserved(slot)) {
+                    slots.add(slot);
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Earliest free slot on or after {@code from} across all doctors of the specialization.
+     * Walks day by day so the search stops at the first day on which anyone is free.
+     */
+    public Optional<AppointmentSlot> findFirstAvailable(Doctor.Specialization specialization, LocalDate from) {
+        List<Schedule> candidates = schedules.values().stream()
+                .filter(schedule -> schedule.specialization() == specialization)
+                .toList();
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate last = now.toLocalDate().plusDays(horizonDays);
+        for (LocalDate date = max(from, now.toLocalDate()); !date.isAfter(last); date = date.plusDays(1)) {
+            AppointmentSlot best = null;
+            for (Schedule schedule : candidates) {
+                if (!schedule.days().contains(date.getDayOfWeek())) {
+                    continue;
+                }
+                for (LocalTime start : schedule.slotStarts()) {
+                    if (best != null && !start.isBefore(best.time())) {
+                        break;
+                    }
+                    AppointmentSlot slot = new AppointmentSlot(schedule.doctorId(), date, start);
+                    if (date.atTime(start).isAfter(now) && !slotReservations.isReserved(slot)) {
+                        best = slot;
+                        break;
+                    }
+                }
+            }
+            if (best != null) {
+                return Optional.of(best);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void refresh(Long doctorId, Doctor.Specialization specialization, Set<Doctor.DayOfWeek> days,
+                         Set<String> timeSlots) {
+        EnumSet<DayOfWeek> weekDays = EnumSet.noneOf(DayOfWeek.class);
+        for (Doctor.DayOfWeek day : days) {
+            weekDays.add(DayOfWeek.valueOf(day.name()));
+        }
+
+        TreeSet<LocalTime> starts = new TreeSet<>();
+        for (String timeSlot : timeSlots) {
+            LocalTime start = parseSlotStart(timeSlot);
+            if (start != null) {
+                starts.add(start);
+            } else {
+                logger.warn("Ignoring unparseable time slot '{}' of doctor {}", timeSlot, doctorId);
+            }
+        }
+
+        schedules.put(doctorId, new Schedule(doctorId, specialization, weekDays, List.copyOf(starts)));
+    }
+
+    // Slots are stored as free text such as "09:00-10:00" or "9:00 AM - 10:00 AM"; only the start matters
+    static LocalTime parseSlotStart(String timeSlot) {
+        String start = timeSlot.split("-", 2)[0].trim().toUpperCase(Locale.ENGLISH);
+        for (DateTimeFormatter format : SLOT_FORMATS) {
+            try {
+                return LocalTime.parse(start, format);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private record Schedule(Long doctorId, Doctor.Specialization specialization, Set<DayOfWeek> days,
+                            List<LocalTime> slotStarts) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.hospital.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.management.dto.DoctorView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Read-through cache of the serialized public doctor directory. Each listing is encoded once into JSON
+ * and gzip bytes with a strong ETag derived from the content; any doctor change invalidates every listing.
+ */
+@Component
+public class DoctorDirectoryCache {
+    public static final String ALL = "ALL";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public Entry get(String key, Supplier<List<DoctorView>> loader) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+
+        long loadedAt = generation.get();
+        entry = encode(loader.get());
+        entries.putIfAbsent(key, entry);
+        // A change committed while we were loading; do not keep the possibly stale listing
+        if (generation.get() != loadedAt) {
+            entries.remove(key, entry);
+        }
+        return entry;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private Entry encode(List<DoctorView> doctors) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(doctors);
+            String tag = contentTag(json);
+            return new Entry(json, gzip(json), "\"" + tag + "\"", "\"" + tag + "-gzip\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize doctor directory", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String contentTag(byte[] data) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * One encoded listing. The gzip representation has its own ETag since strong validators are per encoding.
+     */
+    public record Entry(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+    }
+}
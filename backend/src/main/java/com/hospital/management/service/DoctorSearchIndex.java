@@ -0,0 +1,279 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.DoctorSearchRequest;
+import com.hospital.management.dto.DoctorSearchResponse;
+import com.hospital.management.dto.DoctorView;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.model.User;
+import com.hospital.management.repository.DoctorRepository;
+import com.hospital.management.util.PrefixTrie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over the doctor directory. Words from the name, education, biography and
+ * specialization are kept in a {@link PrefixTrie} with their posting sets, so every query word is
+ * matched as a prefix without scanning the table. Postings and the specialization, gender and day
+ * filters are bit sets over doctor ids, so matching, filtering and facet counting are word-wide set
+ * operations; only the fee and experience ranges are checked per matching document.
+ */
+@Component
+public class DoctorSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(DoctorSearchIndex.class);
+
+    private static final int MAX_LIMIT = 100;
+
+    private static final BitSet EMPTY = new BitSet();
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, DoctorView> documents = new HashMap<>();
+
+    private final BitSet allDoctors = new BitSet();
+
+    private final Map<Doctor.Specialization, BitSet> bySpecialization = new EnumMap<>(Doctor.Specialization.class);
+
+    private final Map<User.Gender, BitSet> byGender = new EnumMap<>(User.Gender.class);
+
+    private final Map<Doctor.DayOfWeek, BitSet> byDay = new EnumMap<>(Doctor.DayOfWeek.class);
+
+    private final PrefixTrie<Posting> terms = new PrefixTrie<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<DoctorView> doctors = doctorRepository.findAllViews();
+        lock.writeLock().lock();
+        try {
+            doctors.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Indexed {} doctors with {} search terms", doctors.size(), terms.size());
+    }
+
+    public void index(DoctorView doctor) {
+        lock.writeLock().lock();
+        try {
+            delete(doctor.id());
+            add(doctor);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long doctorId) {
+        lock.writeLock().lock();
+        try {
+            delete(doctorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public DoctorSearchResponse search(DoctorSearchRequest request) {
+        int offset = Math.max(request.getOffset(), 0);
+        int limit = Math.min(Math.max(request.getLimit(), 1), MAX_LIMIT);
+        List<String> words = tokenize(request.getQ());
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = words.isEmpty() ? (BitSet) allDoctors.clone() : matchAll(words);
+            if (request.getSpecialization() != null) {
+                matches.and(bySpecialization.getOrDefault(request.getSpecialization(), EMPTY));
+            }
+            if (request.getGender() != null) {
+                matches.and(byGender.getOrDefault(request.getGender(), EMPTY));
+            }
+            if (request.getDay() != null) {
+                matches.and(byDay.getOrDefault(request.getDay(), EMPTY));
+            }
+            if (hasRangeFilters(request)) {
+                for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                    if (!matchesRanges(documents.get(id), request)) {
+                        matches.clear(id);
+                    }
+                }
+            }
+
+            List<DoctorView> page = new ArrayList<>(limit);
+            int id = matches.nextSetBit(0);
+            for (int skipped = 0; id >= 0 && skipped < offset; skipped++) {
+                id = matches.nextSetBit(id + 1);
+            }
+            for (; id >= 0 && page.size() < limit; id = matches.nextSetBit(id + 1)) {
+                page.add(documents.get(id));
+            }
+            return new DoctorSearchResponse(matches.cardinality(), page, facets(matches, bySpecialization,
+                    Doctor.Specialization.class), facets(matches, byDay, Doctor.DayOfWeek.class));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed words starting with {@code prefix}, most frequent first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> words = tokenize(prefix);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        PriorityQueue<Posting> top = new PriorityQueue<>(Comparator.comparingInt(posting -> posting.doctorIds.cardinality()));
+        lock.readLock().lock();
+        try {
+            terms.forEachWithPrefix(words.get(words.size() - 1), posting -> {
+                top.offer(posting);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<String> suggestions = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            suggestions.add(top.poll().term);
+        }
+        Collections.reverse(suggestions);
+        return suggestions;
+    }
+
+    // Ids of doctors matching every word as a prefix
+    private BitSet matchAll(List<String> words) {
+        List<BitSet> perWord = new ArrayList<>(words.size());
+        for (String word : words) {
+            BitSet ids = new BitSet();
+            terms.forEachWithPrefix(word, posting -> ids.or(posting.doctorIds));
+            if (ids.isEmpty()) {
+                return new BitSet();
+            }
+            perWord.add(ids);
+        }
+
+        BitSet result = perWord.get(0);
+        for (int i = 1; i < perWord.size(); i++) {
+            result.and(perWord.get(i));
+        }
+        return result;
+    }
+
+    // Count of the matches in each value's set, leaving out values without matches
+    private static <K extends Enum<K>> Map<K, Integer> facets(BitSet matches, Map<K, BitSet> byValue, Class<K> type) {
+        Map<K, Integer> counts = new EnumMap<>(type);
+        for (Map.Entry<K, BitSet> value : byValue.entrySet()) {
+            BitSet both = (BitSet) value.getValue().clone();
+            both.and(matches);
+            int count = both.cardinality();
+            if (count > 0) {
+                counts.put(value.getKey(), count);
+            }
+        }
+        return counts;
+    }
+
+    private static boolean hasRangeFilters(DoctorSearchRequest request) {
+        return request.getMinFee() != null || request.getMaxFee() != null || request.getMinExperience() != null;
+    }
+
+    private static boolean matchesRanges(DoctorView doctor, DoctorSearchRequest request) {
+        Double fees = doctor.consultationFees();
+        if (request.getMinFee() != null && (fees == null || fees < request.getMinFee())) {
+            return false;
+        }
+        if (request.getMaxFee() != null && (fees == null || fees > request.getMaxFee())) {
+            return false;
+        }
+        return request.getMinExperience() == null
+                || (doctor.experience() != null && doctor.experience() >= request.getMinExperience());
+    }
+
+    private void add(DoctorView doctor) {
+        int id = Math.toIntExact(doctor.id());
+        documents.put(id, doctor);
+        allDoctors.set(id);
+        if (doctor.specialization() != null) {
+            bySpecialization.computeIfAbsent(doctor.specialization(), key -> new BitSet()).set(id);
+        }
+        if (doctor.gender() != null) {
+            byGender.computeIfAbsent(doctor.gender(), key -> new BitSet()).set(id);
+        }
+        for (Doctor.DayOfWeek day : doctor.availableDays()) {
+            byDay.computeIfAbsent(day, key -> new BitSet()).set(id);
+        }
+        for (String word : documentWords(doctor)) {
+            Posting posting = terms.get(word);
+            if (posting == null) {
+                posting = new Posting(word);
+                terms.put(word, posting);
+            }
+            posting.doctorIds.set(id);
+        }
+    }
+
+    private void delete(Long doctorId) {
+        int id = Math.toIntExact(doctorId);
+        DoctorView doctor = documents.remove(id);
+        if (doctor == null) {
+            return;
+        }
+        allDoctors.clear(id);
+        bySpecialization.values().forEach(ids -> ids.clear(id));
+        byGender.values().forEach(ids -> ids.clear(id));
+        byDay.values().forEach(ids -> ids.clear(id));
+        for (String word : documentWords(doctor)) {
+            Posting posting = terms.get(word);
+            if (posting != null) {
+                posting.doctorIds.clear(id);
+                if (posting.doctorIds.isEmpty()) {
+                    terms.remove(word);
+                }
+            }
+        }
+    }
+
+    private static Set<String> documentWords(DoctorView doctor) {
+        Set<String> words = new HashSet<>();
+        words.addAll(tokenize(doctor.firstName()));
+        words.addAll(tokenize(doctor.lastName()));
+        words.addAll(tokenize(doctor.education()));
+        words.addAll(tokenize(doctor.biography()));
+        if (doctor.specialization() != null) {
+            words.addAll(tokenize(doctor.specialization().name()));
+        }
+        return words;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static final class Posting {
+        private final String term;
+        private final BitSet doctorIds = new BitSet();
+
+        private Posting(String term) {
+            this.term = term;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.hospital.management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.management.dto.AppointmentExportRow;
+import com.hospital.management.dto.MedicationExportRow;
+import com.hospital.management.dto.PrescriptionExportRow;
+import com.hospital.management.repository.AppointmentRepository;
+import com.hospital.management.repository.MedicationRepository;
+import com.hospital.management.repository.PrescriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams full-table exports straight to an output stream. Rows are read as flat projections
+ * through a forward-only cursor, so nothing accumulates in the persistence context and heap
+ * use does not grow with table size.
+ */
+@Service
+public class ExportService {
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String[] APPOINTMENT_COLUMNS = {
+            "id", "appointmentDate", "appointmentTime", "status", "consultationFees", "patientId",
+            "patientFirstName", "patientLastName", "doctorId", "doctorFirstName", "doctorLastName",
+            "specialization", "createdAt"
+    };
+
+    private static final String[] PRESCRIPTION_COLUMNS = {
+            "id", "appointmentId", "patientId", "patientFirstName", "patientLastName", "doctorId",
+            "doctorFirstName", "doctorLastName", "diagnosis", "followUpDate", "paid", "createdAt", "medications"
+    };
+
+    private static final String[] MEDICATION_COLUMNS = {
+            "name", "dosage", "frequency", "duration", "instructions"
+    };
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private MedicationRepository medicationRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportAppointments(Format format, OutputStream out) throws IOException {
+        try (Stream<AppointmentExportRow> rows = appointmentRepository.streamAllForExport()) {
+            RowWriter writer = rowWriter(format, out, APPOINTMENT_COLUMNS);
+            for (Iterator<AppointmentExportRow> it = rows.iterator(); it.hasNext(); ) {
+                AppointmentExportRow row = it.next();
+                writer.write(new Object[]{
+                        row.id(), row.appointmentDate(), row.appointmentTime(), row.status(),
+                        row.consultationFees(), row.patientId(), row.patientFirstName(), row.patientLastName(),
+                        row.doctorId(), row.doctorFirstName(), row.doctorLastName(), row.specialization(),
+                        row.createdAt()
+                });
+            }
+            writer.finish();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPrescriptions(Format format, OutputStream out) throws IOException {
+        // Both cursors are ordered by prescription id, so medications are merged in without a lookup per row
+        try (Stream<PrescriptionExportRow> rows = prescriptionRepository.streamAllForExport();
+             Stream<MedicationExportRow> medicationRows = medicationRepository.streamAllForExport()) {
+            RowWriter writer = rowWriter(format, out, PRESCRIPTION_COLUMNS);
+            Iterator<MedicationExportRow> medications = medicationRows.iterator();
+            MedicationExportRow pending = medications.hasNext() ? medications.next() : null;
+
+            for (Iterator<PrescriptionExportRow> it = rows.iterator(); it.hasNext(); ) {
+                PrescriptionExportRow row = it.next();
+                List<Object[]> rowMedications = new ArrayList<>();
+                while (pending != null && pending.prescriptionId() <= row.id()) {
+                    if (pending.prescriptionId().equals(row.id())) {
+                        rowMedications.add(new Object[]{
+                                pending.name(), pending.dosage(), pending.frequency(), pending.duration(),
+                                pending.instructions()
+                        });
+                    }
+                    pending = medications.hasNext() ? medications.next() : null;
+                }
+
+                writer.write(new Object[]{
+                        row.id(), row.appointmentId(), row.patientId(), row.patientFirstName(),
+                        row.patientLastName(), row.doctorId(), row.doctorFirstName(), row.doctorLastName(),
+                        row.diagnosis(), row.followUpDate(), row.paid(), row.createdAt(), rowMedications
+                });
+            }
+            writer.finish();
+        }
+    }
+
+    private RowWriter rowWriter(Format format, OutputStream out, String[] columns) throws IOException {
+        return format == Format.CSV
+                ? new CsvRowWriter(out, columns)
+                : new NdjsonRowWriter(objectMapper.getFactory().createGenerator(out).setRootValueSeparator(null), columns);
+    }
+
+    private interface RowWriter {
+        void write(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final String[] columns;
+
+        NdjsonRowWriter(JsonGenerator generator, String[] columns) {
+            this.generator = generator;
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                writeValue(values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Number number) {
+                generator.writeNumber(number.toString());
+            } else if (value instanceof Boolean bool) {
+                generator.writeBoolean(bool);
+            } else if (value instanceof List<?> list) {
+                generator.writeStartArray();
+                for (Object[] medication : (List<Object[]>) list) {
+                    generator.writeStartObject();
+                    for (int i = 0; i < MEDICATION_COLUMNS.length; i++) {
+                        generator.writeFieldName(MEDICATION_COLUMNS[i]);
+                        writeValue(medication[i]);
+                    }
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out, String[] columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = values[i];
+                if (value instanceof List<?> list) {
+                    // Medications are flattened into one cell: "name dosage frequency duration; ..."
+                    StringBuilder cell = new StringBuilder();
+                    for (Object[] medication : (List<Object[]>) list) {
+                        if (cell.length() > 0) {
+                            cell.append("; ");
+                        }
+                        cell.append(medication[0]).append(' ').append(medication[1]).append(' ')
+                                .append(medication[2]).append(' ').append(medication[3]);
+                    }
+                    value = cell;
+                }
+                writeCell(value);
+            }
+            writer.write('\n');
+        }
+
+        private void writeCell(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
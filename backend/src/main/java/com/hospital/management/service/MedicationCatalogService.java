@@ -0,0 +1,250 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.CatalogSuggestion;
+import com.hospital.management.dto.MedicationUsage;
+import com.hospital.management.model.MedicationCatalog;
+import com.hospital.management.repository.MedicationCatalogRepository;
+import com.hospital.management.repository.MedicationRepository;
+import com.hospital.management.util.PrefixTrie;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory copy of the medication catalog. Every drug name and dosage, frequency or duration value
+ * written on a prescription is resolved to one catalog entry, so differently spelled equal values
+ * can be counted by catalog id; the prescription keeps the prescriber's own text. Entries are
+ * indexed in a {@link PrefixTrie} per kind for autocomplete, ranked by how often they were prescribed.
+ */
+@Service
+public class MedicationCatalogService {
+    private static final Logger logger = LoggerFactory.getLogger(MedicationCatalogService.class);
+
+    // Inserts the entry unless one with the same kind and normalized name is already committed
+    private static final String INSERT_IF_ABSENT = "INSERT INTO medication_catalog " +
+            "(kind, name, normalized_name, created_at) SELECT ?, ?, ?, CURRENT_TIMESTAMP WHERE NOT EXISTS " +
+            "(SELECT 1 FROM medication_catalog WHERE kind = ? AND normalized_name = ?)";
+
+    @Autowired
+    private MedicationCatalogRepository catalogRepository;
+
+    @Autowired
+    private MedicationRepository medicationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transaction;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, Entry> entriesById = new ConcurrentHashMap<>();
+
+    private final EnumMap<MedicationCatalog.Kind, PrefixTrie<Entry>> tries = new EnumMap<>(MedicationCatalog.Kind.class);
+
+    private final ReentrantReadWriteLock trieLock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void init() {
+        transaction = new TransactionTemplate(transactionManager);
+        for (MedicationCatalog.Kind kind : MedicationCatalog.Kind.values()) {
+            tries.put(kind, new PrefixTrie<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (MedicationCatalog catalog : catalogRepository.findAll()) {
+            Key key = new Key(catalog.getKind(), catalog.getNormalizedName());
+            entries.computeIfAbsent(key, k -> index(toEntry(catalog), k));
+        }
+
+        // Medications written before the catalog existed are linked by name once
+        for (String name : medicationRepository.findUncataloguedNames()) {
+            transaction.executeWithoutResult(status ->
+                    medicationRepository.linkCatalog(name, reference(resolve(MedicationCatalog.Kind.DRUG, name))));
+        }
+
+        for (List<Object[]> counts : List.of(medicationRepository.countByCatalog(),
+                medicationRepository.countByDosageCatalog(), medicationRepository.countByFrequencyCatalog(),
+                medicationRepository.countByDurationCatalog())) {
+            for (Object[] row : counts) {
+                Entry entry = entriesById.get((Long) row[0]);
+                if (entry != null) {
+                    entry.uses().add((Long) row[1]);
+                }
+            }
+        }
+        logger.info("Loaded {} medication catalog entries", entries.size());
+    }
+
+    /**
+     * Returns the catalog entry for the value, creating it on first use. Must be called inside the
+     * caller's transaction: a new entry is inserted on its connection and is only added to the
+     * in-memory catalog once that transaction commits, so a rollback leaves no trace.
+     */
+    public Entry resolve(MedicationCatalog.Kind kind, String value) {
+        Key key = key(kind, value);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+
+        // Insert-or-select on the unique normalized name. A concurrent insert of the same value waits
+        // for the other transaction and then fails on the unique constraint, so the row it committed is read
+        try {
+            insertIfAbsent(kind, clean(value), key.normalizedName());
+        } catch (DuplicateKeyException e) {
+            logger.debug("Catalog entry {} was added concurrently", key);
+        }
+        Entry created = toEntry(catalogRepository.findByKindAndNormalizedName(kind, key.normalizedName())
+                .orElseThrow(() -> new IllegalStateException("Catalog entry vanished: " + key)));
+        afterCommit(() -> entries.computeIfAbsent(key, k -> index(created, k)));
+        return created;
+    }
+
+    // Runs on the caller's connection behind a savepoint, so a duplicate leaves its transaction usable
+    private void insertIfAbsent(MedicationCatalog.Kind kind, String name, String normalizedName) {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_IF_ABSENT)) {
+                insert.setString(1, kind.name());
+                insert.setString(2, name);
+                insert.setString(3, normalizedName);
+                insert.setString(4, kind.name());
+                insert.setString(5, normalizedName);
+                int inserted = insert.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                return inserted;
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+        });
+    }
+
+    public MedicationCatalog reference(Entry entry) {
+        return catalogRepository.getReferenceById(entry.id());
+    }
+
+    // Counts are rebuilt from the medications' catalog references at startup
+    public void recordUse(MedicationCatalog.Kind kind, String value) {
+        Entry entry = entries.get(key(kind, value));
+        if (entry != null) {
+            entry.uses().increment();
+        }
+    }
+
+    /**
+     * Entries of the kind whose normalized name starts with {@code prefix}, most prescribed first.
+     */
+    public List<CatalogSuggestion> suggest(MedicationCatalog.Kind kind, String prefix, int limit) {
+        String normalizedPrefix = clean(prefix).toLowerCase(Locale.ROOT);
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+
+        Comparator<Entry> byUses = Comparator.comparingLong((Entry entry) -> entry.uses().sum());
+        PriorityQueue<Entry> top = new PriorityQueue<>(byUses);
+        trieLock.readLock().lock();
+        try {
+            tries.get(kind).forEachWithPrefix(normalizedPrefix, entry -> {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+        } finally {
+            trieLock.readLock().unlock();
+        }
+
+        List<CatalogSuggestion> suggestions = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Entry entry = top.poll();
+            suggestions.add(new CatalogSuggestion(entry.id(), entry.name(), entry.uses().sum()));
+        }
+        Collections.reverse(suggestions);
+        return suggestions;
+    }
+
+    /**
+     * Most prescribed drugs, counted in the database by catalog id.
+     */
+    public List<MedicationUsage> usage(int limit) {
+        List<MedicationUsage> usage = new ArrayList<>();
+        for (Object[] row : medicationRepository.countByCatalog()) {
+            Entry entry = entriesById.get((Long) row[0]);
+            usage.add(new MedicationUsage((Long) row[0], entry != null ? entry.name() : null, (Long) row[1]));
+        }
+        usage.sort(Comparator.comparingLong(MedicationUsage::prescribedCount).reversed());
+        return usage.size() > limit ? usage.subList(0, limit) : usage;
+    }
+
+    private Entry index(Entry entry, Key key) {
+        entriesById.put(entry.id(), entry);
+        trieLock.writeLock().lock();
+        try {
+            tries.get(entry.kind()).put(key.normalizedName(), entry);
+        } finally {
+            trieLock.writeLock().unlock();
+        }
+        return entry;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Entry toEntry(MedicationCatalog catalog) {
+        return new Entry(catalog.getId(), catalog.getKind(), catalog.getName(), new LongAdder());
+    }
+
+    private static Key key(MedicationCatalog.Kind kind, String value) {
+        return new Key(kind, clean(value).toLowerCase(Locale.ROOT));
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ");
+    }
+
+    private record Key(MedicationCatalog.Kind kind, String normalizedName) {
+    }
+
+    /**
+     * Catalog value in the spelling it was first written in; {@code uses} counts prescribed
+     * medications referencing it.
+     */
+    public record Entry(Long id, MedicationCatalog.Kind kind, String name, LongAdder uses) {
+    }
+}
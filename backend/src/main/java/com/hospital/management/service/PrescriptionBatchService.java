@@ -0,0 +1,114 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.MedicationView;
+import com.hospital.management.dto.PrescriptionDocumentRow;
+import com.hospital.management.dto.PrescriptionView;
+import com.hospital.management.repository.PrescriptionRepository;
+import com.itextpdf.text.DocumentException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes many prescriptions as one merged PDF or a ZIP of PDFs. Prescriptions and medications come
+ * from a single ordered cursor and are rendered one at a time straight into the output stream.
+ */
+@Service
+public class PrescriptionBatchService {
+    public enum Format {
+        PDF, ZIP
+    }
+
+    /**
+     * Restricts the batch; null fields are ignored. Dates are inclusive and apply to the creation date.
+     */
+    public record Filter(Long patientId, Long doctorId, Long patientUserId, Long doctorUserId,
+                         LocalDate from, LocalDate to) {
+    }
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private PrescriptionPdfRenderer renderer;
+
+    @Autowired
+    private PrescriptionPdfService pdfService;
+
+    @Transactional(readOnly = true)
+    public void writeBatch(Filter filter, Format format, OutputStream out) throws IOException, DocumentException {
+        try (Stream<PrescriptionDocumentRow> rows = prescriptionRepository.streamForDocuments(
+                filter.patientId(), filter.doctorId(), filter.patientUserId(), filter.doctorUserId(),
+                filter.from() != null ? filter.from().atStartOfDay() : null,
+                filter.to() != null ? filter.to().plusDays(1).atStartOfDay() : null)) {
+            Iterator<PrescriptionView> prescriptions = new GroupingIterator(rows.iterator());
+            if (format == Format.PDF) {
+                renderer.renderAll(prescriptions, out);
+            } else {
+                writeZip(prescriptions, out);
+            }
+            out.flush();
+        }
+    }
+
+    private void writeZip(Iterator<PrescriptionView> prescriptions, OutputStream out)
+            throws IOException, DocumentException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        while (prescriptions.hasNext()) {
+            PrescriptionView prescription = prescriptions.next();
+            zip.putNextEntry(new ZipEntry("prescription_" + prescription.id() + ".pdf"));
+            // Reuse the document already rendered for single downloads, but only if it was rendered
+            // from exactly this content; ids alone are reused when the database is recreated
+            PrescriptionPdfService.RenderedPdf cached = pdfService.findCached(prescription);
+            if (cached != null) {
+                Files.copy(cached.file(), zip);
+            } else {
+                renderer.render(prescription, zip);
+            }
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    // Folds consecutive rows of the same prescription into one view with its medications
+    private static final class GroupingIterator implements Iterator<PrescriptionView> {
+        private final Iterator<PrescriptionDocumentRow> rows;
+        private PrescriptionDocumentRow pending;
+
+        GroupingIterator(Iterator<PrescriptionDocumentRow> rows) {
+            this.rows = rows;
+            this.pending = rows.hasNext() ? rows.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public PrescriptionView next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            PrescriptionView view = pending.toView();
+            while (pending != null && pending.id().equals(view.id())) {
+                MedicationView medication = pending.toMedication();
+                if (medication != null) {
+                    view.medications().add(medication);
+                }
+                pending = rows.hasNext() ? rows.next() : null;
+            }
+            return view;
+        }
+    }
+}
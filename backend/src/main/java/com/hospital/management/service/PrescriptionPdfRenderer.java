@@ -0,0 +1,262 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.MedicationView;
+import com.hospital.management.dto.PrescriptionView;
+import com.itextpdf.text.*;
+import com.itextpdf.text.pdf.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Iterator;
+
+/**
+ * Prescription PDF template. Fonts, the decoded logo, the medication table header and the footer
+ * page event are built once from the {@link Branding} and shared by every render; a render only
+ * fills in the prescription. Works from the detached {@link PrescriptionView}, so it can run on any
+ * thread without an open persistence context.
+ */
+public class PrescriptionPdfRenderer {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    // Bump when the layout changes so cached documents are rendered again
+    private static final String LAYOUT_VERSION = "2";
+
+    private static final String[] MEDICATION_HEADERS = {"Medication", "Dosage", "Frequency", "Duration", "Instructions"};
+
+    private static final float[] MEDICATION_WIDTHS = {3f, 2f, 2f, 2f, 4f};
+
+    private final Branding branding;
+    private final Font titleFont;
+    private final Font subtitleFont;
+    private final Font normalFont;
+    private final Font boldFont;
+    private final Font footerFont;
+    private final Image logo;
+    private final PdfPCell[] headerCells;
+    private final PdfPageEventHelper footer;
+    private final String fingerprint;
+
+    public PrescriptionPdfRenderer(Branding branding) {
+        this.branding = branding;
+        try {
+            BaseFont regular = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+            BaseFont bold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+            this.titleFont = new Font(bold, 18, Font.NORMAL, BaseColor.BLACK);
+            this.subtitleFont = new Font(regular, 11, Font.NORMAL, BaseColor.DARK_GRAY);
+            this.normalFont = new Font(regular, 12, Font.NORMAL, BaseColor.BLACK);
+            this.boldFont = new Font(bold, 12, Font.NORMAL, BaseColor.BLACK);
+            this.footerFont = new Font(regular, 9, Font.NORMAL, BaseColor.GRAY);
+            this.logo = branding.logo() != null ? Image.getInstance(branding.logo()) : null;
+        } catch (DocumentException | IOException e) {
+            throw new IllegalStateException("Could not load PDF template resources", e);
+        }
+
+        // PdfPTable.addCell copies the cell, so the header cells can be shared
+        this.headerCells = new PdfPCell[MEDICATION_HEADERS.length];
+        for (int i = 0; i < MEDICATION_HEADERS.length; i++) {
+            headerCells[i] = new PdfPCell(new Phrase(MEDICATION_HEADERS[i], boldFont));
+            headerCells[i].setBackgroundColor(BaseColor.LIGHT_GRAY);
+        }
+
+        this.footer = new PdfPageEventHelper() {
+            @Override
+            public void onEndPage(PdfWriter writer, Document document) {
+                if (branding.footer() == null || branding.footer().isEmpty()) {
+                    return;
+                }
+                ColumnText.showTextAligned(writer.getDirectContent(), Element.ALIGN_CENTER,
+                        new Phrase(branding.footer(), footerFont),
+                        (document.left() + document.right()) / 2, document.bottom() - 20, 0);
+            }
+        };
+
+        this.fingerprint = computeFingerprint(branding);
+    }
+
+    /**
+     * Identifies the current layout and branding; cached documents rendered with a different one are not reused.
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Identifies the document this renderer produces for the prescription: a digest of the layout
+     * fingerprint, the participant ids, the creation time and every printed field. Ids alone are not
+     * enough because they are reused when the database is recreated while the disk cache survives.
+     */
+    public String cacheKey(PrescriptionView prescription) {
+        MessageDigest digest = sha256();
+        update(digest, fingerprint);
+        update(digest, prescription.id());
+        update(digest, prescription.patientId());
+        update(digest, prescription.doctorId());
+        update(digest, prescription.createdAt());
+        update(digest, prescription.patientFirstName());
+        update(digest, prescription.patientLastName());
+        update(digest, prescription.doctorFirstName());
+        update(digest, prescription.doctorLastName());
+        update(digest, prescription.specialization());
+        update(digest, prescription.diagnosis());
+        update(digest, prescription.additionalNotes());
+        update(digest, prescription.followUpDate());
+        for (MedicationView medication : prescription.medications()) {
+            update(digest, medication.name());
+            update(digest, medication.dosage());
+            update(digest, medication.frequency());
+            update(digest, medication.duration());
+            update(digest, medication.instructions());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public void render(PrescriptionView prescription, OutputStream out) throws DocumentException {
+        Document document = open(out);
+        addPrescription(document, prescription);
+        document.close();
+    }
+
+    /**
+     * Writes every prescription into one document, each starting on a new page. Pages are flushed to
+     * {@code out} as they complete, so memory use does not depend on the number of prescriptions.
+     */
+    public int renderAll(Iterator<PrescriptionView> prescriptions, OutputStream out) throws DocumentException {
+        Document document = open(out);
+        int count = 0;
+        while (prescriptions.hasNext()) {
+            if (count > 0) {
+                document.newPage();
+            }
+            addPrescription(document, prescriptions.next());
+            count++;
+        }
+        if (count == 0) {
+            document.add(new Paragraph("No prescriptions found.", normalFont));
+        }
+        document.close();
+        return count;
+    }
+
+    private Document open(OutputStream out) throws DocumentException {
+        Document document = new Document(PageSize.A4);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        // The caller owns the stream, which may be a ZIP entry or the response
+        writer.setCloseStream(false);
+        writer.setPageEvent(footer);
+        document.open();
+        return document;
+    }
+
+    private void addPrescription(Document document, PrescriptionView prescription) throws DocumentException {
+        addLetterhead(document);
+
+        // Add patient and doctor info
+        document.add(new Paragraph("Patient: " + prescription.patientFirstName() + " " +
+                prescription.patientLastName(), boldFont));
+        document.add(new Paragraph("Doctor: Dr. " + prescription.doctorFirstName() + " " +
+                prescription.doctorLastName() + " (" + prescription.specialization() + ")", boldFont));
+        document.add(new Paragraph("Date: " + prescription.createdAt().format(DATE_FORMAT), boldFont));
+        document.add(new Paragraph("Diagnosis: " + prescription.diagnosis(), boldFont));
+        document.add(Chunk.NEWLINE);
+
+        // Add medications
+        document.add(new Paragraph("Medications:", boldFont));
+
+        PdfPTable table = new PdfPTable(MEDICATION_WIDTHS);
+        table.setWidthPercentage(100);
+        table.setSpacingBefore(10f);
+        table.setSpacingAfter(10f);
+        table.setHeaderRows(1);
+        for (PdfPCell headerCell : headerCells) {
+            table.addCell(headerCell);
+        }
+
+        for (MedicationView medication : prescription.medications()) {
+            table.addCell(new Phrase(medication.name(), normalFont));
+            table.addCell(new Phrase(medication.dosage(), normalFont));
+            table.addCell(new Phrase(medication.frequency(), normalFont));
+            table.addCell(new Phrase(medication.duration(), normalFont));
+            table.addCell(new Phrase(medication.instructions() != null ? medication.instructions() : "", normalFont));
+        }
+
+        document.add(table);
+
+        // Add additional notes
+        if (prescription.additionalNotes() != null && !prescription.additionalNotes().isEmpty()) {
+            document.add(new Paragraph("Additional Notes:", boldFont));
+            document.add(new Paragraph(prescription.additionalNotes(), normalFont));
+        }
+
+        // Add follow-up date
+        if (prescription.followUpDate() != null) {
+            document.add(Chunk.NEWLINE);
+            document.add(new Paragraph("Follow-up Date: " + prescription.followUpDate().format(DATE_FORMAT), boldFont));
+        }
+
+        // Add signature
+        Paragraph signature = new Paragraph("Doctor's Signature", boldFont);
+        signature.setSpacingBefore(45f);
+        document.add(signature);
+    }
+
+    private void addLetterhead(Document document) throws DocumentException {
+        if (logo != null) {
+            // Copies share the decoded image data; each document positions its own copy
+            Image image = Image.getInstance(logo);
+            image.scaleToFit(120, 60);
+            image.setAlignment(Element.ALIGN_CENTER);
+            document.add(image);
+        }
+
+        Paragraph title = new Paragraph(branding.name(), titleFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+
+        if (branding.address() != null && !branding.address().isEmpty()) {
+            Paragraph address = new Paragraph(branding.address(), subtitleFont);
+            address.setAlignment(Element.ALIGN_CENTER);
+            document.add(address);
+        }
+
+        Paragraph heading = new Paragraph("Prescription", titleFont);
+        heading.setAlignment(Element.ALIGN_CENTER);
+        heading.setSpacingAfter(20);
+        document.add(heading);
+    }
+
+    private static String computeFingerprint(Branding branding) {
+        MessageDigest digest = sha256();
+        for (String part : new String[]{LAYOUT_VERSION, branding.name(), branding.address(), branding.footer()}) {
+            update(digest, part);
+        }
+        if (branding.logo() != null) {
+            digest.update(branding.logo());
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 8);
+    }
+
+    // Null-terminated, so adjacent fields cannot run into each other
+    private static void update(MessageDigest digest, Object part) {
+        digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Hospital identity printed on every prescription. {@code logo} holds the raw image bytes, or {@code null}.
+     */
+    public record Branding(String name, String address, String footer, byte[] logo) {
+    }
+}
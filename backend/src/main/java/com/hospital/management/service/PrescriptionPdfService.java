@@ -0,0 +1,332 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.PrescriptionView;
+import com.hospital.management.exception.ServiceOverloadedException;
+import com.hospital.management.repository.PrescriptionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders each prescription PDF once and keeps it in a content-addressed disk cache.
+ * Documents are stored as {@code <sha256>.pdf}; a small reference file per prescription id records the
+ * digest of everything the document shows and which document was rendered from it. A render for new
+ * content replaces the reference and deletes the document it pointed to, so the cache holds at most one
+ * document per prescription. Rendering runs on a bounded pool and concurrent requests for the same
+ * prescription share one render.
+ */
+@Service
+public class PrescriptionPdfService implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionPdfService.class);
+
+    @Value("${app.pdf.cache-dir:${java.io.tmpdir}/hms-pdf-cache}")
+    private Path cacheDir;
+
+    @Value("${app.pdf.render-threads:2}")
+    private int renderThreads;
+
+    @Value("${app.pdf.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.pdf.timeout-ms:10000}")
+    private long timeoutMs;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private PrescriptionPdfRenderer renderer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Keyed by PrescriptionPdfRenderer.cacheKey, so only requests for the same content share a render
+    private final ConcurrentHashMap<String, CompletableFuture<RenderedPdf>> inFlight = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    private Timer renderTimer;
+
+    private Counter cacheHits;
+
+    private Counter cacheMisses;
+
+    // Serializes reference swaps, so every replaced document is seen and deleted by exactly one render
+    private final Object refLock = new Object();
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(cacheDir.resolve("current"));
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(renderThreads, renderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-render-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        renderTimer = Timer.builder("pdf.render")
+                .description("Time to render one prescription PDF, excluding queueing")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        cacheHits = Counter.builder("pdf.cache.requests").tag("result", "hit").register(meterRegistry);
+        cacheMisses = Counter.builder("pdf.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("pdf.render.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        Path legacyRefs = cacheDir.resolve("refs");
+        if (Files.isDirectory(legacyRefs)) {
+            FileTime started = FileTime.from(Instant.now());
+            executor.execute(() -> removeLegacyCache(legacyRefs, started));
+        }
+    }
+
+    /**
+     * Returns the cached document for the prescription, rendering it first if needed.
+     */
+    public RenderedPdf getPdf(Long prescriptionId) {
+        return getPdf(load(prescriptionId));
+    }
+
+    /**
+     * Returns the cached document for the loaded prescription, rendering it first if needed.
+     */
+    public RenderedPdf getPdf(PrescriptionView prescription) {
+        String key = renderer.cacheKey(prescription);
+        RenderedPdf cached = findCached(prescription, key);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+
+        CompletableFuture<RenderedPdf> future = submit(prescription, key);
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("PDF rendering is busy, please retry shortly", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering PDF", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("PDF rendering failed", e.getCause());
+        }
+    }
+
+    /**
+     * Queues a render in the background so the first download is already cached. Never fails the caller.
+     */
+    public void prerender(Long prescriptionId) {
+        try {
+            executor.execute(() -> {
+                try {
+                    PrescriptionView prescription = load(prescriptionId);
+                    String key = renderer.cacheKey(prescription);
+                    if (findCached(prescription, key) == null) {
+                        renderShared(prescription, key);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Could not prerender prescription {}: {}", prescriptionId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Skipping prerender of prescription {}, render queue is full", prescriptionId);
+        }
+    }
+
+    private PrescriptionView load(Long prescriptionId) {
+        return prescriptionRepository.findViewById(prescriptionId)
+                .orElseThrow(() -> new RuntimeException("Prescription not found with id: " + prescriptionId));
+    }
+
+    private CompletableFuture<RenderedPdf> submit(PrescriptionView prescription, String key) {
+        CompletableFuture<RenderedPdf> created = new CompletableFuture<>();
+        CompletableFuture<RenderedPdf> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            executor.execute(() -> complete(created, prescription, key));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            throw new ServiceOverloadedException("PDF rendering is busy, please retry shortly", e);
+        }
+        return created;
+    }
+
+    // Renders on the calling pool thread, sharing the result with requests for the same document
+    private void renderShared(PrescriptionView prescription, String key) {
+        CompletableFuture<RenderedPdf> created = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, created) == null) {
+            complete(created, prescription, key);
+        }
+    }
+
+    private void complete(CompletableFuture<RenderedPdf> future, PrescriptionView prescription, String key) {
+        try {
+            future.complete(render(prescription, key));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private RenderedPdf render(PrescriptionView prescription, String key) throws Exception {
+        // Another request may have finished the same document while this one was queued
+        RenderedPdf cached = findCached(prescription, key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Path temp = Files.createTempFile(cacheDir, "render-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                renderer.render(prescription, out);
+            }
+            sample.stop(renderTimer);
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path document = cacheDir.resolve(hash + ".pdf");
+            Files.move(temp, document, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            replaceRef(prescription, key, hash);
+
+            return new RenderedPdf(document, hash, Files.size(document));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The cached document for exactly this content of the prescription, or {@code null} if it has not
+     * been rendered yet. A document rendered for an earlier prescription with the same id is never returned.
+     */
+    public RenderedPdf findCached(PrescriptionView prescription) {
+        return findCached(prescription, renderer.cacheKey(prescription));
+    }
+
+    private RenderedPdf findCached(PrescriptionView prescription, String key) {
+        try {
+            String[] ref = readRef(refPath(prescription));
+            if (ref == null || !ref[0].equals(key)) {
+                return null;
+            }
+            Path document = cacheDir.resolve(ref[1] + ".pdf");
+            return new RenderedPdf(document, ref[1], Files.size(document));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Points the prescription at the new document and deletes the one rendered from its earlier content
+    private void replaceRef(PrescriptionView prescription, String key, String hash) throws IOException {
+        Path ref = refPath(prescription);
+        Path refTemp = Files.createTempFile(cacheDir, "ref-", ".tmp");
+        try {
+            Files.writeString(refTemp, key + "\n" + hash, StandardCharsets.US_ASCII);
+            synchronized (refLock) {
+                String[] replaced = readRef(ref);
+                Files.move(refTemp, ref, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                if (replaced != null && !replaced[1].equals(hash)) {
+                    Files.deleteIfExists(cacheDir.resolve(replaced[1] + ".pdf"));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(refTemp);
+        }
+    }
+
+    // The cache key and document hash the reference records, or null if there is none
+    private static String[] readRef(Path ref) throws IOException {
+        try {
+            String[] lines = Files.readString(ref, StandardCharsets.US_ASCII).trim().split("\n");
+            return lines.length == 2 ? lines : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private Path refPath(PrescriptionView prescription) {
+        return cacheDir.resolve("current").resolve(prescription.id() + ".ref");
+    }
+
+    // Earlier versions kept one reference per id and content and never deleted anything. Their references
+    // go, and so do all documents written before this start, which no current reference can point to.
+    private void removeLegacyCache(Path legacyRefs, FileTime started) {
+        int removed = 0;
+        try {
+            try (DirectoryStream<Path> refs = Files.newDirectoryStream(legacyRefs)) {
+                for (Path ref : refs) {
+                    Files.delete(ref);
+                }
+            }
+            Files.delete(legacyRefs);
+            try (DirectoryStream<Path> documents = Files.newDirectoryStream(cacheDir, "*.pdf")) {
+                for (Path document : documents) {
+                    if (Files.getLastModifiedTime(document).compareTo(started) < 0) {
+                        Files.deleteIfExists(document);
+                        removed++;
+                    }
+                }
+            }
+            logger.info("Removed the legacy PDF cache, {} documents", removed);
+        } catch (IOException e) {
+            logger.warn("Could not remove the legacy PDF cache: {}", e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A rendered document on disk. The content hash doubles as a strong ETag.
+     */
+    public record RenderedPdf(Path file, String hash, long size) {
+        public String etag() {
+            return "\"" + hash + "\"";
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.PrescriptionRequest;
+import com.hospital.management.model.Appointment;
+import com.hospital.management.model.Medication;
+import com.hospital.management.model.MedicationCatalog;
+import com.hospital.management.model.Prescription;
+import com.hospital.management.repository.AppointmentRepository;
+import com.hospital.management.repository.PrescriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates prescriptions with their medications. Ids come from pooled sequences and inserts are
+ * JDBC-batched, so a prescription with many medications, or many prescriptions at once, costs a
+ * handful of round trips instead of one per row.
+ */
+@Service
+public class PrescriptionService {
+    public enum Outcome {
+        CREATED, FORBIDDEN, INVALID
+    }
+
+    public record Result(Outcome outcome, String message) {
+    }
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private PrescriptionPdfService pdfService;
+
+    @Autowired
+    private MedicationCatalogService catalogService;
+
+    @Transactional
+    public Result create(Long doctorUserId, PrescriptionRequest request) {
+        Appointment appointment = appointmentRepository.findWithParticipantsById(request.getAppointmentId())
+                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + request.getAppointmentId()));
+
+        // Check if user is the doctor for this appointment
+        if (!appointment.getDoctor().getUser().getId().equals(doctorUserId)) {
+            return new Result(Outcome.FORBIDDEN, null);
+        }
+
+        String problem = checkPrescribable(appointment, prescriptionRepository.existsByAppointmentId(appointment.getId()));
+        if (problem != null) {
+            return new Result(Outcome.INVALID, problem);
+        }
+
+        Prescription prescription = prescriptionRepository.save(build(appointment, request));
+        afterCommit(List.of(prescription));
+        return new Result(Outcome.CREATED, "Prescription created successfully!");
+    }
+
+    /**
+     * Creates all prescriptions in one transaction, or none of them if any request is invalid.
+     * Appointments and existing prescriptions are looked up with one query each for the whole batch.
+     */
+    @Transactional
+    public Result createAll(Long doctorUserId, List<PrescriptionRequest> requests) {
+        Set<Long> appointmentIds = requests.stream()
+                .map(PrescriptionRequest::getAppointmentId)
+                .collect(Collectors.toSet());
+        if (appointmentIds.size() != requests.size()) {
+            return new Result(Outcome.INVALID, "Each appointment can appear only once in a bulk request");
+        }
+
+        Map<Long, Appointment> appointments = appointmentRepository.findAllWithParticipantsByIdIn(appointmentIds)
+                .stream()
+                .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+        Set<Long> prescribed = new HashSet<>(prescriptionRepository.findPrescribedAppointmentIds(appointmentIds));
+
+        List<String> problems = new ArrayList<>();
+        List<Prescription> prescriptions = new ArrayList<>(requests.size());
+        for (PrescriptionRequest request : requests) {
+            Long appointmentId = request.getAppointmentId();
+            Appointment appointment = appointments.get(appointmentId);
+            String problem;
+            if (appointment == null) {
+                problem = "Appointment not found";
+            } else if (!appointment.getDoctor().getUser().getId().equals(doctorUserId)) {
+                problem = "Not your appointment";
+            } else {
+                problem = checkPrescribable(appointment, prescribed.contains(appointmentId));
+            }
+
+            if (problem != null) {
+                problems.add("Appointment " + appointmentId + ": " + problem);
+            } else {
+                prescriptions.add(build(appointment, request));
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            return new Result(Outcome.INVALID, String.join("; ", problems));
+        }
+
+        prescriptionRepository.saveAll(prescriptions);
+        afterCommit(prescriptions);
+        return new Result(Outcome.CREATED, prescriptions.size() + " prescriptions created successfully!");
+    }
+
+    private static String checkPrescribable(Appointment appointment, boolean alreadyPrescribed) {
+        // Check if appointment is completed
+        if (appointment.getStatus() != Appointment.AppointmentStatus.COMPLETED) {
+            return "Cannot create prescription for appointment with status: " + appointment.getStatus();
+        }
+
+        // Check if prescription already exists for this appointment
+        if (alreadyPrescribed) {
+            return "Prescription already exists for this appointment";
+        }
+        return null;
+    }
+
+    private Prescription build(Appointment appointment, PrescriptionRequest request) {
+        Prescription prescription = new Prescription();
+        prescription.setAppointment(appointment);
+        prescription.setPatient(appointment.getPatient());
+        prescription.setDoctor(appointment.getDoctor());
+        prescription.setDiagnosis(request.getDiagnosis());
+        prescription.setAdditionalNotes(request.getAdditionalNotes());
+        prescription.setFollowUpDate(request.getFollowUpDate());
+
+        // Create medications
+        List<Medication> medications = new ArrayList<>();
+        for (PrescriptionRequest.MedicationDto medicationDto : request.getMedications()) {
+            // The prescriber's text is stored as written; the catalog entries only link equal values
+            Medication medication = new Medication();
+            medication.setPrescription(prescription);
+            medication.setCatalog(catalogReference(MedicationCatalog.Kind.DRUG, medicationDto.getName()));
+            medication.setDosageCatalog(catalogReference(MedicationCatalog.Kind.DOSAGE, medicationDto.getDosage()));
+            medication.setFrequencyCatalog(catalogReference(MedicationCatalog.Kind.FREQUENCY, medicationDto.getFrequency()));
+            medication.setDurationCatalog(catalogReference(MedicationCatalog.Kind.DURATION, medicationDto.getDuration()));
+            medication.setName(medicationDto.getName());
+            medication.setDosage(medicationDto.getDosage());
+            medication.setFrequency(medicationDto.getFrequency());
+            medication.setDuration(medicationDto.getDuration());
+            medication.setInstructions(medicationDto.getInstructions());
+            medications.add(medication);
+        }
+
+        prescription.setMedications(medications);
+        return prescription;
+    }
+
+    private MedicationCatalog catalogReference(MedicationCatalog.Kind kind, String value) {
+        return catalogService.reference(catalogService.resolve(kind, value));
+    }
+
+    // The renderer reads the prescription back, so it may only start once the rows are visible
+    private void afterCommit(List<Prescription> prescriptions) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Prescription prescription : prescriptions) {
+                    for (Medication medication : prescription.getMedications()) {
+                        catalogService.recordUse(MedicationCatalog.Kind.DRUG, medication.getName());
+                        catalogService.recordUse(MedicationCatalog.Kind.DOSAGE, medication.getDosage());
+                        catalogService.recordUse(MedicationCatalog.Kind.FREQUENCY, medication.getFrequency());
+                        catalogService.recordUse(MedicationCatalog.Kind.DURATION, medication.getDuration());
+                    }
+                    pdfService.prerender(prescription.getId());
+                }
+            }
+        });
+    }
+}
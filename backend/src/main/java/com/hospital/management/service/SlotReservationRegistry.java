@@ -0,0 +1,77 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.AppointmentSlot;
+import com.hospital.management.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the slots that are booked, or being booked, per doctor and day.
+ * Reserving is an atomic add, so only one request per slot ever reaches the database and
+ * known-taken slots are rejected without a query. The unique constraint on active slots
+ * remains the source of truth; this map only filters out losers early.
+ */
+@Component
+public class SlotReservationRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(SlotReservationRegistry.class);
+
+    private final ConcurrentHashMap<DoctorDay, Set<LocalTime>> days = new ConcurrentHashMap<>();
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int count = 0;
+        for (AppointmentSlot slot : appointmentRepository.findActiveSlotsFrom(LocalDate.now())) {
+            tryReserve(slot);
+            count++;
+        }
+        logger.info("Loaded {} booked appointment slots", count);
+    }
+
+    /**
+     * Claims the slot. Returns {@code false} if it is already booked or another booking for it is in flight.
+     */
+    public boolean tryReserve(AppointmentSlot slot) {
+        boolean[] added = new boolean[1];
+        days.compute(new DoctorDay(slot.doctorId(), slot.date()), (day, times) -> {
+            Set<LocalTime> set = times != null ? times : ConcurrentHashMap.newKeySet();
+            added[0] = set.add(slot.time());
+            return set;
+        });
+        return added[0];
+    }
+
+    public boolean isReserved(AppointmentSlot slot) {
+        Set<LocalTime> times = days.get(new DoctorDay(slot.doctorId(), slot.date()));
+        return times != null && times.contains(slot.time());
+    }
+
+    public void release(AppointmentSlot slot) {
+        days.computeIfPresent(new DoctorDay(slot.doctorId(), slot.date()), (day, times) -> {
+            times.remove(slot.time());
+            return times.isEmpty() ? null : times;
+        });
+    }
+
+    // Past days can no longer be booked
+    @Scheduled(cron = "${app.booking.prune-cron:0 5 0 * * *}")
+    public void prunePastDays() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(day -> day.date().isBefore(today));
+    }
+
+    private record DoctorDay(Long doctorId, LocalDate date) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.hospital.management.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Character trie mapping string keys to values, with ordered prefix enumeration.
+ * Not thread-safe; owners guard it with their own lock.
+ */
+public class PrefixTrie<V> {
+    private final Node<V> root = new Node<>();
+
+    private int size;
+
+    public V get(String key) {
+        Node<V> node = find(key);
+        return node != null ? node.value : null;
+    }
+
+    public V put(String key, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+        }
+        V previous = node.value;
+        node.value = value;
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    public V remove(String key) {
+        V removed = remove(root, key, 0);
+        if (removed != null) {
+            size--;
+        }
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits every value whose key starts with {@code prefix}, in key order.
+     */
+    public void forEachWithPrefix(String prefix, Consumer<V> action) {
+        Node<V> node = find(prefix);
+        if (node != null) {
+            visit(node, action);
+        }
+    }
+
+    public List<V> valuesWithPrefix(String prefix) {
+        List<V> values = new ArrayList<>();
+        forEachWithPrefix(prefix, values::add);
+        return values;
+    }
+
+    private Node<V> find(String key) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    private V remove(Node<V> node, String key, int depth) {
+        if (depth == key.length()) {
+            V value = node.value;
+            node.value = null;
+            return value;
+        }
+        Node<V> child = node.children.get(key.charAt(depth));
+        if (child == null) {
+            return null;
+        }
+        V value = remove(child, key, depth + 1);
+        // Prune branches that no longer lead to a value
+        if (child.value == null && child.children.isEmpty()) {
+            node.children.remove(key.charAt(depth));
+        }
+        return value;
+    }
+
+    private void visit(Node<V> node, Consumer<V> action) {
+        if (node.value != null) {
+            action.accept(node.value);
+        }
+        for (Node<V> child : node.children.values()) {
+            visit(child, action);
+        }
+    }
+
+    private static final class Node<V> {
+        private final Map<Character, Node<V>> children = new TreeMap<>();
+        private V value;
+    }
+}
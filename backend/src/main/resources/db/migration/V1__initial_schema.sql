@@ -0,0 +1,144 @@
+-- Baseline schema, matching the JPA mappings as of the medication catalog.
+-- Hibernate only validates it in production (ddl-auto=validate); every later change needs a new V<n>__ script.
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name  VARCHAR(50),
+    last_name   VARCHAR(50),
+    email       VARCHAR(50),
+    phone       VARCHAR(20),
+    password    VARCHAR(120),
+    gender      VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE roles (
+    id    INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name  VARCHAR(20)
+);
+
+CREATE TABLE user_roles (
+    user_id  BIGINT NOT NULL,
+    role_id  INTEGER NOT NULL,
+    PRIMARY KEY (role_id, user_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE doctors (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           BIGINT,
+    specialization    VARCHAR(255),
+    consultation_fees DOUBLE PRECISION NOT NULL,
+    experience        INTEGER NOT NULL,
+    education         VARCHAR(255),
+    biography         TEXT,
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT uk_doctors_user UNIQUE (user_id),
+    CONSTRAINT fk_doctors_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE doctor_available_days (
+    doctor_id       BIGINT NOT NULL,
+    available_days  VARCHAR(255),
+    CONSTRAINT fk_doctor_available_days_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+CREATE TABLE doctor_available_time_slots (
+    doctor_id             BIGINT NOT NULL,
+    available_time_slots  VARCHAR(255),
+    CONSTRAINT fk_doctor_available_time_slots_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+CREATE TABLE patients (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT,
+    date_of_birth    DATE NOT NULL,
+    blood_group      VARCHAR(255),
+    allergies        VARCHAR(255),
+    medical_history  TEXT,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT uk_patients_user UNIQUE (user_id),
+    CONSTRAINT fk_patients_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE SEQUENCE appointments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE appointments (
+    id                BIGINT NOT NULL PRIMARY KEY,
+    patient_id        BIGINT NOT NULL,
+    doctor_id         BIGINT NOT NULL,
+    appointment_date  DATE NOT NULL,
+    appointment_time  TIME(6) NOT NULL,
+    consultation_fees DOUBLE PRECISION NOT NULL,
+    status            VARCHAR(255),
+    -- TRUE while SCHEDULED, NULL otherwise, so the unique constraint only covers active bookings
+    slot_active       BOOLEAN,
+    reason            TEXT,
+    notes             TEXT,
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT uk_appointments_active_slot UNIQUE (doctor_id, appointment_date, appointment_time, slot_active),
+    CONSTRAINT fk_appointments_patient FOREIGN KEY (patient_id) REFERENCES patients (id),
+    CONSTRAINT fk_appointments_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+-- Keyset pagination orders by (date, time, id), optionally within one doctor or patient;
+-- the patient index also serves plain lookups by patient_id
+CREATE INDEX idx_appointments_date_time ON appointments (appointment_date, appointment_time, id);
+CREATE INDEX idx_appointments_doctor_date_time ON appointments (doctor_id, appointment_date, appointment_time, id);
+CREATE INDEX idx_appointments_patient_date_time ON appointments (patient_id, appointment_date, appointment_time, id);
+CREATE INDEX idx_appointments_doctor_slot_status ON appointments (doctor_id, appointment_date, appointment_time, status);
+
+CREATE SEQUENCE prescriptions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE prescriptions (
+    id                BIGINT NOT NULL PRIMARY KEY,
+    appointment_id    BIGINT NOT NULL,
+    patient_id        BIGINT NOT NULL,
+    doctor_id         BIGINT NOT NULL,
+    diagnosis         TEXT,
+    additional_notes  TEXT,
+    follow_up_date    DATE,
+    is_paid           BOOLEAN NOT NULL,
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT uk_prescriptions_appointment UNIQUE (appointment_id),
+    CONSTRAINT fk_prescriptions_appointment FOREIGN KEY (appointment_id) REFERENCES appointments (id),
+    CONSTRAINT fk_prescriptions_patient FOREIGN KEY (patient_id) REFERENCES patients (id),
+    CONSTRAINT fk_prescriptions_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+CREATE INDEX idx_prescriptions_patient ON prescriptions (patient_id);
+CREATE INDEX idx_prescriptions_doctor ON prescriptions (doctor_id);
+
+CREATE TABLE medication_catalog (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    kind             VARCHAR(20) NOT NULL,
+    name             VARCHAR(255),
+    normalized_name  VARCHAR(255),
+    created_at       TIMESTAMP(6),
+    CONSTRAINT uk_medication_catalog_kind_name UNIQUE (kind, normalized_name)
+);
+
+CREATE SEQUENCE medications_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE medications (
+    id               BIGINT NOT NULL PRIMARY KEY,
+    prescription_id  BIGINT NOT NULL,
+    catalog_id       BIGINT,
+    name             VARCHAR(255),
+    dosage           VARCHAR(255),
+    frequency        VARCHAR(255),
+    duration         VARCHAR(255),
+    instructions     VARCHAR(255),
+    CONSTRAINT fk_medications_prescription FOREIGN KEY (prescription_id) REFERENCES prescriptions (id),
+    CONSTRAINT fk_medications_catalog FOREIGN KEY (catalog_id) REFERENCES medication_catalog (id)
+);
+
+CREATE INDEX idx_medications_prescription ON medications (prescription_id);
+CREATE INDEX idx_medications_catalog ON medications (catalog_id);
@@ -0,0 +1,7 @@
+-- JWT version per user; tokens signed with an older version are rejected.
+-- No foreign key to users, so the revocation outlives a deleted account.
+
+CREATE TABLE token_versions (
+    user_id  BIGINT NOT NULL PRIMARY KEY,
+    version  INTEGER NOT NULL
+);
@@ -0,0 +1,17 @@
+-- Catalog entries of each medication's dosage, frequency and duration, next to the drug's catalog_id.
+-- Rows written before this stay unlinked; their text columns are unchanged.
+
+ALTER TABLE medications ADD COLUMN dosage_catalog_id BIGINT;
+ALTER TABLE medications ADD COLUMN frequency_catalog_id BIGINT;
+ALTER TABLE medications ADD COLUMN duration_catalog_id BIGINT;
+
+ALTER TABLE medications ADD CONSTRAINT fk_medications_dosage_catalog
+    FOREIGN KEY (dosage_catalog_id) REFERENCES medication_catalog (id);
+ALTER TABLE medications ADD CONSTRAINT fk_medications_frequency_catalog
+    FOREIGN KEY (frequency_catalog_id) REFERENCES medication_catalog (id);
+ALTER TABLE medications ADD CONSTRAINT fk_medications_duration_catalog
+    FOREIGN KEY (duration_catalog_id) REFERENCES medication_catalog (id);
+
+CREATE INDEX idx_medications_dosage_catalog ON medications (dosage_catalog_id);
+CREATE INDEX idx_medications_frequency_catalog ON medications (frequency_catalog_id);
+CREATE INDEX idx_medications_duration_catalog ON medications (duration_catalog_id);
@@ -0,0 +1,74 @@
+package com.hospital.management;
+
+import com.hospital.management.model.Appointment;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.model.Patient;
+import com.hospital.management.model.User;
+import com.hospital.management.repository.AppointmentRepository;
+import com.hospital.management.repository.DoctorRepository;
+import com.hospital.management.repository.PatientRepository;
+import com.hospital.management.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saves patients, doctors and appointments for tests running against the application context.
+ * Emails are numbered, so tests sharing a cached context do not collide.
+ */
+@TestComponent
+public class TestData {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    public Patient patient() {
+        Patient patient = new Patient();
+        patient.setUser(user("patient"));
+        patient.setDateOfBirth(LocalDate.of(1990, 5, 17));
+        return patientRepository.save(patient);
+    }
+
+    public Doctor doctor() {
+        Doctor doctor = new Doctor();
+        doctor.setUser(user("doctor"));
+        doctor.setSpecialization(Doctor.Specialization.GENERAL_MEDICINE);
+        doctor.setConsultationFees(500.0);
+        doctor.setExperience(8);
+        doctor.setEducation("MBBS");
+        return doctorRepository.save(doctor);
+    }
+
+    public Appointment appointment(Patient patient, Doctor doctor, LocalDate date, LocalTime time,
+                                   Appointment.AppointmentStatus status) {
+        Appointment appointment = new Appointment();
+        appointment.setPatient(patient);
+        appointment.setDoctor(doctor);
+        appointment.setAppointmentDate(date);
+        appointment.setAppointmentTime(time);
+        appointment.setConsultationFees(doctor.getConsultationFees());
+        appointment.setReason("Check-up");
+        appointment.setStatus(status);
+        appointment.setSlotActive(status == Appointment.AppointmentStatus.SCHEDULED ? Boolean.TRUE : null);
+        return appointmentRepository.save(appointment);
+    }
+
+    private User user(String kind) {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(new User("Test", kind + n, kind + n + "@test.example.com", "9000000000",
+                "not-a-hash", User.Gender.OTHER));
+    }
+}
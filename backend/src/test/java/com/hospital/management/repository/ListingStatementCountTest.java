@@ -0,0 +1,196 @@
+package com.hospital.management.repository;
+
+import com.hospital.management.TestData;
+import com.hospital.management.dto.AppointmentView;
+import com.hospital.management.dto.DoctorView;
+import com.hospital.management.dto.PrescriptionRequest;
+import com.hospital.management.dto.PrescriptionView;
+import com.hospital.management.model.Appointment;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.model.Patient;
+import com.hospital.management.service.PrescriptionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC statements behind the listings that used to load users, schedules and
+ * medications row by row. Each listing must cost the same few statements however many rows it returns.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listing-test",
+        "spring.jpa.show-sql=false",
+        "app.pdf.cache-dir=${java.io.tmpdir}/hms-test-pdf-cache"
+})
+@Import(TestData.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListingStatementCountTest {
+    private static final int DOCTORS = 3;
+    private static final int APPOINTMENTS_PER_DOCTOR = 4;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    private final List<Doctor> doctors = new ArrayList<>();
+
+    private final List<Long> appointmentIds = new ArrayList<>();
+
+    private Patient patient;
+
+    @BeforeAll
+    void createData() {
+        patient = testData.patient();
+        for (int d = 0; d < DOCTORS; d++) {
+            Doctor doctor = testData.doctor();
+            doctor.setAvailableDays(EnumSet.of(Doctor.DayOfWeek.MONDAY, Doctor.DayOfWeek.THURSDAY));
+            doctor.setAvailableTimeSlots(Set.of("09:00-10:00", "10:00-11:00"));
+            doctors.add(doctorRepository.save(doctor));
+
+            for (int a = 0; a < APPOINTMENTS_PER_DOCTOR; a++) {
+                Appointment appointment = testData.appointment(patient, doctor, LocalDate.of(2026, 2, 2 + a),
+                        LocalTime.of(9, 0), Appointment.AppointmentStatus.COMPLETED);
+                appointmentIds.add(appointment.getId());
+                prescriptionService.create(doctor.getUser().getId(), prescription(appointment.getId()));
+            }
+        }
+    }
+
+    @BeforeEach
+    void resetStatistics() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // Entities served from the second-level cache would hide statements
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void prescriptionListingsLoadMedicationsWithOneQuery() {
+        List<PrescriptionView> all = prescriptionRepository.findAllViews();
+        assertThat(statements()).isEqualTo(2);
+        assertThat(all).hasSizeGreaterThanOrEqualTo(DOCTORS * APPOINTMENTS_PER_DOCTOR)
+                .allSatisfy(view -> assertThat(view.medications()).hasSize(2));
+
+        List<PrescriptionView> ofPatient = prescriptionRepository.findViewsByPatientUserId(patient.getUser().getId());
+        assertThat(statements()).isEqualTo(2);
+        assertThat(ofPatient).hasSize(DOCTORS * APPOINTMENTS_PER_DOCTOR);
+
+        List<PrescriptionView> ofDoctor = prescriptionRepository.findViewsByDoctorUserId(doctors.get(0).getUser().getId());
+        assertThat(statements()).isEqualTo(2);
+        assertThat(ofDoctor).hasSize(APPOINTMENTS_PER_DOCTOR);
+
+        assertThat(prescriptionRepository.findViewById(ofDoctor.get(0).id())).isPresent();
+        assertThat(statements()).isEqualTo(2);
+    }
+
+    @Test
+    void doctorListingsLoadSchedulesWithTwoQueries() {
+        List<DoctorView> all = doctorRepository.findAllViews();
+        assertThat(statements()).isEqualTo(3);
+        assertThat(all).filteredOn(view -> view.id().equals(doctors.get(0).getId())).singleElement()
+                .satisfies(view -> {
+                    assertThat(view.availableDays()).hasSize(2);
+                    assertThat(view.availableTimeSlots()).hasSize(2);
+                });
+
+        doctorRepository.findViewsBySpecialization(Doctor.Specialization.GENERAL_MEDICINE);
+        assertThat(statements()).isEqualTo(3);
+    }
+
+    @Test
+    void doctorEntitiesBatchFetchTheirSchedules() {
+        int days = new TransactionTemplate(transactionManager).execute(status -> {
+            int count = 0;
+            for (Doctor doctor : doctorRepository.findAll()) {
+                count += doctor.getAvailableDays().size() + doctor.getAvailableTimeSlots().size()
+                        + doctor.getUser().getFirstName().length();
+            }
+            return count;
+        });
+
+        assertThat(days).isPositive();
+        // Doctors, then one batch each for users, days and time slots
+        assertThat(statements()).isEqualTo(4);
+    }
+
+    @Test
+    void appointmentPageIsOneQuery() {
+        List<AppointmentView> page = appointmentRepository.findPage(patient.getId(), null, null, null, null, null, 50);
+
+        assertThat(statements()).isEqualTo(1);
+        assertThat(page).hasSize(DOCTORS * APPOINTMENTS_PER_DOCTOR)
+                .allSatisfy(view -> assertThat(view.doctorFirstName()).isNotNull());
+    }
+
+    @Test
+    void appointmentsWithParticipantsFetchUsersInTheSameQuery() {
+        List<String> names = new TransactionTemplate(transactionManager).execute(status ->
+                appointmentRepository.findAllWithParticipantsByIdIn(appointmentIds).stream()
+                        .map(a -> a.getPatient().getUser().getLastName() + a.getDoctor().getUser().getLastName())
+                        .toList());
+
+        assertThat(names).hasSize(appointmentIds.size());
+        assertThat(statements()).isEqualTo(1);
+    }
+
+    private long statements() {
+        long count = statistics.getPrepareStatementCount();
+        statistics.clear();
+        return count;
+    }
+
+    private static PrescriptionRequest prescription(Long appointmentId) {
+        List<PrescriptionRequest.MedicationDto> medications = new ArrayList<>();
+        for (String drug : List.of("Amlodipine", "Atorvastatin")) {
+            PrescriptionRequest.MedicationDto medication = new PrescriptionRequest.MedicationDto();
+            medication.setName(drug);
+            medication.setDosage("10 mg");
+            medication.setFrequency("Once daily");
+            medication.setDuration("30 days");
+            medications.add(medication);
+        }
+        PrescriptionRequest request = new PrescriptionRequest();
+        request.setAppointmentId(appointmentId);
+        request.setDiagnosis("Hypertension");
+        request.setMedications(medications);
+        return request;
+    }
+}
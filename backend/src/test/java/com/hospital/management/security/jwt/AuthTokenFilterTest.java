@@ -0,0 +1,102 @@
+package com.hospital.management.security.jwt;
+
+import com.hospital.management.model.Role;
+import com.hospital.management.security.services.UserDetailsImpl;
+import com.hospital.management.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthTokenFilterTest {
+    private static final String TOKEN = "header.payload.signature";
+
+    private final JwtUtils jwtUtils = mock(JwtUtils.class);
+
+    private final UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statefulModeLoadsTheUserEvenWhenTheTokenIsCached() throws Exception {
+        Claims claims = Jwts.claims().setSubject("doc@x.com").setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        when(jwtUtils.parseAndValidate(TOKEN)).thenReturn(claims);
+        when(jwtUtils.getUserDetailsFromJwtClaims(any())).thenReturn(user(Role.ERole.ROLE_DOCTOR));
+        // The role is withdrawn in the database after the first request
+        when(userDetailsService.loadUserByUsername("doc@x.com"))
+                .thenReturn(user(Role.ERole.ROLE_DOCTOR), user(Role.ERole.ROLE_PATIENT));
+        AuthTokenFilter filter = filter(false);
+
+        assertThat(authenticate(filter).getRoleNames()).containsExactly("ROLE_DOCTOR");
+        assertThat(authenticate(filter).getRoleNames()).containsExactly("ROLE_PATIENT");
+
+        // The second request was a cache hit, so only the signature check was skipped
+        verify(jwtUtils, times(1)).parseAndValidate(TOKEN);
+        verify(userDetailsService, times(2)).loadUserByUsername("doc@x.com");
+    }
+
+    @Test
+    void statelessModeServesThePrincipalFromTheCache() throws Exception {
+        Claims claims = Jwts.claims().setSubject("doc@x.com").setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        when(jwtUtils.parseAndValidate(TOKEN)).thenReturn(claims);
+        when(jwtUtils.getUserDetailsFromJwtClaims(any())).thenReturn(user(Role.ERole.ROLE_DOCTOR));
+        AuthTokenFilter filter = filter(true);
+
+        assertThat(authenticate(filter).getRoleNames()).containsExactly("ROLE_DOCTOR");
+        assertThat(authenticate(filter).getRoleNames()).containsExactly("ROLE_DOCTOR");
+
+        verify(jwtUtils, times(1)).parseAndValidate(TOKEN);
+        verify(userDetailsService, times(0)).loadUserByUsername(any());
+    }
+
+    private AuthTokenFilter filter(boolean stateless) {
+        TokenVersionRegistry tokenVersionRegistry = mock(TokenVersionRegistry.class);
+        when(tokenVersionRegistry.isCurrent(anyLong(), anyInt())).thenReturn(true);
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 10);
+        ReflectionTestUtils.setField(cache, "tokenVersionRegistry", tokenVersionRegistry);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        cache.init();
+
+        AuthTokenFilter filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", cache);
+        ReflectionTestUtils.setField(filter, "stateless", stateless);
+        return filter;
+    }
+
+    private static UserDetailsImpl authenticate(AuthTokenFilter filter) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/appointments");
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    private static UserDetailsImpl user(Role.ERole role) {
+        return new UserDetailsImpl(7L, "Doc", "Who", "doc@x.com", null, null, EnumSet.of(role));
+    }
+}
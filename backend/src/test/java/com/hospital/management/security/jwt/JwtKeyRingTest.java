@@ -0,0 +1,51 @@
+package com.hospital.management.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+    private static final String ORIGINAL_SECRET = "YourJwtSecretKeyHereMakeItLongAndSecureForProductionUse";
+    private static final String ROTATED_SECRET = "AnotherJwtSecretKeyThatReplacedTheOriginalOneAfterRotation";
+
+    @Test
+    void tokenWithoutKeyIdIsVerifiedWithTheOriginalKeyAfterRotation() {
+        JwtKeyRing rotated = new JwtKeyRing("second", ROTATED_SECRET, "primary:" + ORIGINAL_SECRET, "primary");
+        JwtParser parser = Jwts.parserBuilder().setSigningKeyResolver(rotated).build();
+
+        assertThat(parser.parseClaimsJws(token(null, ORIGINAL_SECRET)).getBody().getSubject()).isEqualTo("doc@x.com");
+        assertThat(parser.parseClaimsJws(token("second", ROTATED_SECRET)).getBody().getSubject()).isEqualTo("doc@x.com");
+        // The active key never signed tokens without a key id
+        assertThatThrownBy(() -> parser.parseClaimsJws(token(null, ROTATED_SECRET)))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void tokenWithoutKeyIdIsRejectedOnceTheOriginalKeyIsDropped() {
+        JwtKeyRing rotated = new JwtKeyRing("second", ROTATED_SECRET, "", "primary");
+        JwtParser parser = Jwts.parserBuilder().setSigningKeyResolver(rotated).build();
+
+        assertThatThrownBy(() -> parser.parseClaimsJws(token(null, ORIGINAL_SECRET)))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    private static String token(String keyId, String secret) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        JwtBuilder builder = Jwts.builder().setSubject("doc@x.com");
+        if (keyId != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, keyId);
+        }
+        return builder.signWith(key, SignatureAlgorithm.HS256).compact();
+    }
+}
@@ -0,0 +1,65 @@
+package com.hospital.management.security.jwt;
+
+import com.hospital.management.TestData;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.repository.TokenVersionRepository;
+import com.hospital.management.security.services.UserDetailsImpl;
+import com.hospital.management.security.services.UserDetailsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listing-test",
+        "spring.jpa.show-sql=false",
+        "app.pdf.cache-dir=${java.io.tmpdir}/hms-test-pdf-cache"
+})
+@Import(TestData.class)
+class TokenVersionRegistryTest {
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private TokenVersionRepository tokenVersionRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void revocationSurvivesRestart() {
+        Long userId = testData.doctor().getUser().getId();
+
+        tokenVersionRegistry.revoke(userId);
+        tokenVersionRegistry.revoke(userId);
+
+        assertThat(tokenVersionRegistry.isCurrent(userId, 1)).isFalse();
+        assertThat(tokenVersionRegistry.isCurrent(userId, 2)).isTrue();
+
+        TokenVersionRegistry restarted = new TokenVersionRegistry();
+        ReflectionTestUtils.setField(restarted, "tokenVersionRepository", tokenVersionRepository);
+        restarted.refresh();
+        assertThat(restarted.currentVersion(userId)).isEqualTo(2);
+        assertThat(restarted.isCurrent(userId, 1)).isFalse();
+    }
+
+    @Test
+    void passwordRehashOnLoginKeepsEarlierTokens() {
+        Doctor doctor = testData.doctor();
+        Long userId = doctor.getUser().getId();
+        int before = tokenVersionRegistry.currentVersion(userId);
+
+        UserDetailsImpl user = (UserDetailsImpl) userDetailsService.loadUserByUsername(doctor.getUser().getEmail());
+        userDetailsService.updatePassword(user, "new-hash");
+
+        // Same credentials under a new hash, so the user's other sessions carry on
+        assertThat(tokenVersionRegistry.currentVersion(userId)).isEqualTo(before);
+        assertThat(tokenVersionRegistry.isCurrent(userId, before)).isTrue();
+    }
+}
@@ -0,0 +1,209 @@
+package com.hospital.management.service;
+
+import com.hospital.management.TestData;
+import com.hospital.management.dto.AppointmentRequest;
+import com.hospital.management.dto.AppointmentSlot;
+import com.hospital.management.model.Appointment;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.model.Patient;
+import com.hospital.management.repository.AppointmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires thousands of simultaneous bookings at a few slots and checks that each slot gets exactly one
+ * appointment, first through the shared reservation registry and then spread over several service
+ * instances with a registry each, as on separate nodes, where only the unique constraint on active
+ * slots can decide.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-race-test",
+        "spring.jpa.show-sql=false",
+        "app.pdf.cache-dir=${java.io.tmpdir}/hms-test-pdf-cache"
+})
+@Import(TestData.class)
+class AppointmentBookingRaceTest {
+    private static final int ATTEMPTS = 2000;
+
+    private static final int SLOTS = 4;
+
+    private static final int NODES = 8;
+
+    private static final int PATIENTS = 20;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private SlotReservationRegistry slotReservations;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void registryLetsOneBookingPerSlotThrough() throws Exception {
+        List<AppointmentSlot> slots = slots(9);
+
+        List<Boolean> results = bookInParallel(slots, attempt -> appointmentService);
+
+        assertThat(results).filteredOn(booked -> booked).hasSize(SLOTS);
+        for (AppointmentSlot slot : slots) {
+            assertThat(activeBookings(slot)).isEqualTo(1);
+            assertThat(slotReservations.isReserved(slot)).isTrue();
+        }
+    }
+
+    @Test
+    void uniqueConstraintLetsOneBookingPerSlotThroughAcrossNodes() throws Exception {
+        List<AppointmentSlot> slots = slots(13);
+        List<SlotReservationRegistry> registries = new ArrayList<>();
+        List<AppointmentService> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            SlotReservationRegistry registry = new SlotReservationRegistry();
+            registries.add(registry);
+            nodes.add(node(registry));
+        }
+
+        List<Boolean> results = bookInParallel(slots, attempt -> nodes.get(attempt % NODES));
+
+        assertThat(results).filteredOn(booked -> booked).hasSize(SLOTS);
+        for (int s = 0; s < SLOTS; s++) {
+            AppointmentSlot slot = slots.get(s);
+            assertThat(activeBookings(slot)).isEqualTo(1);
+            int winner = winningNode(results, s);
+            // Losers released the slot, so they do not keep refusing it once the winner's booking is gone
+            for (int n = 0; n < NODES; n++) {
+                assertThat(registries.get(n).isReserved(slot)).isEqualTo(n == winner);
+            }
+
+            cancel(nodes.get(winner), slot);
+            AppointmentService loser = nodes.get((winner + 1) % NODES);
+            assertThat(loser.book(testData.patient().getUser().getId(), request(slot))).isTrue();
+            assertThat(activeBookings(slot)).isEqualTo(1);
+        }
+    }
+
+    private List<AppointmentSlot> slots(int firstHour) {
+        Doctor doctor = testData.doctor();
+        LocalDate date = LocalDate.now().plusDays(7);
+        List<AppointmentSlot> slots = new ArrayList<>();
+        for (int s = 0; s < SLOTS; s++) {
+            slots.add(new AppointmentSlot(doctor.getId(), date, LocalTime.of(firstHour + s, 0)));
+        }
+        return slots;
+    }
+
+    // Attempt i books slot i % SLOTS through services.apply(i); all attempts start together
+    private List<Boolean> bookInParallel(List<AppointmentSlot> slots, IntFunction<AppointmentService> services)
+            throws Exception {
+        List<Long> patientUserIds = new ArrayList<>();
+        for (int p = 0; p < PATIENTS; p++) {
+            Patient patient = testData.patient();
+            patientUserIds.add(patient.getUser().getId());
+        }
+
+        List<Callable<Boolean>> bookings = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            AppointmentService service = services.apply(i);
+            Long userId = patientUserIds.get(i % PATIENTS);
+            AppointmentRequest request = request(slots.get(i % SLOTS));
+            bookings.add(() -> {
+                start.await();
+                return service.book(userId, request);
+            });
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (Callable<Boolean> booking : bookings) {
+                futures.add(executor.submit(booking));
+            }
+            start.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    private static int winningNode(List<Boolean> results, int slotIndex) {
+        for (int i = slotIndex; i < results.size(); i += SLOTS) {
+            if (results.get(i)) {
+                return i % NODES;
+            }
+        }
+        throw new AssertionError("No booking won slot " + slotIndex);
+    }
+
+    // Cancels the slot's booking as its patient, on the node that booked it
+    private void cancel(AppointmentService node, AppointmentSlot slot) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Appointment appointment = scheduled(slot).get(0);
+            AppointmentService.StatusChange change = node.changeStatusAsPatient(appointment.getId(),
+                    appointment.getPatient().getUser().getId(), Appointment.AppointmentStatus.CANCELLED_BY_PATIENT);
+            assertThat(change.outcome()).isEqualTo(AppointmentService.Outcome.UPDATED);
+        });
+    }
+
+    private static AppointmentRequest request(AppointmentSlot slot) {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setDoctorId(slot.doctorId());
+        request.setAppointmentDate(slot.date());
+        request.setAppointmentTime(slot.time());
+        request.setConsultationFees(500.0);
+        request.setReason("Check-up");
+        return request;
+    }
+
+    // A second instance of the service that shares the database but has its own registry
+    private AppointmentService node(SlotReservationRegistry registry) {
+        AppointmentService target = AopTestUtils.getTargetObject(appointmentService);
+        AppointmentService node = new AppointmentService();
+        for (String field : List.of("appointmentRepository", "patientRepository", "doctorRepository",
+                "accessCheckService")) {
+            ReflectionTestUtils.setField(node, field, ReflectionTestUtils.getField(target, field));
+        }
+        ReflectionTestUtils.setField(node, "slotReservations", registry);
+        return node;
+    }
+
+    private long activeBookings(AppointmentSlot slot) {
+        return new TransactionTemplate(transactionManager).execute(status -> (long) scheduled(slot).size());
+    }
+
+    private List<Appointment> scheduled(AppointmentSlot slot) {
+        return appointmentRepository.findAll().stream()
+                .filter(a -> a.getDoctor().getId().equals(slot.doctorId())
+                        && a.getAppointmentDate().equals(slot.date())
+                        && a.getAppointmentTime().equals(slot.time())
+                        && a.getStatus() == Appointment.AppointmentStatus.SCHEDULED)
+                .toList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.DoctorSearchRequest;
+import com.hospital.management.dto.DoctorSearchResponse;
+import com.hospital.management.dto.DoctorView;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoctorSearchIndexTest {
+    private final DoctorSearchIndex index = new DoctorSearchIndex();
+
+    @Test
+    void everyWordMustMatchAsPrefix() {
+        index.index(doctor(1L, "Priya", "Sharma", User.Gender.FEMALE, Doctor.Specialization.CARDIOLOGY, 500.0, 12,
+                EnumSet.of(Doctor.DayOfWeek.MONDAY)));
+        index.index(doctor(2L, "Rahul", "Sharma", User.Gender.MALE, Doctor.Specialization.NEUROLOGY, 900.0, 4,
+                EnumSet.of(Doctor.DayOfWeek.TUESDAY)));
+
+        assertThat(ids(search("shar"))).containsExactly(1L, 2L);
+        assertThat(ids(search("shar card"))).containsExactly(1L);
+        assertThat(ids(search("shar derm"))).isEmpty();
+    }
+
+    @Test
+    void filtersNarrowMatchesAndFacetsCountWhatIsLeft() {
+        index.index(doctor(1L, "Priya", "Sharma", User.Gender.FEMALE, Doctor.Specialization.CARDIOLOGY, 500.0, 12,
+                EnumSet.of(Doctor.DayOfWeek.MONDAY, Doctor.DayOfWeek.FRIDAY)));
+        index.index(doctor(2L, "Neha", "Rao", User.Gender.FEMALE, Doctor.Specialization.CARDIOLOGY, 1200.0, 20,
+                EnumSet.of(Doctor.DayOfWeek.MONDAY)));
+        index.index(doctor(3L, "Amit", "Rao", User.Gender.MALE, Doctor.Specialization.NEUROLOGY, 700.0, 8,
+                EnumSet.of(Doctor.DayOfWeek.FRIDAY)));
+
+        DoctorSearchRequest request = new DoctorSearchRequest();
+        request.setGender(User.Gender.FEMALE);
+        request.setMaxFee(1000.0);
+        DoctorSearchResponse response = index.search(request);
+
+        assertThat(ids(response)).containsExactly(1L);
+        assertThat(response.total()).isEqualTo(1);
+        assertThat(response.specializationFacets()).isEqualTo(Map.of(Doctor.Specialization.CARDIOLOGY, 1));
+        assertThat(response.dayFacets()).isEqualTo(Map.of(Doctor.DayOfWeek.MONDAY, 1, Doctor.DayOfWeek.FRIDAY, 1));
+
+        DoctorSearchRequest byDay = new DoctorSearchRequest();
+        byDay.setDay(Doctor.DayOfWeek.FRIDAY);
+        byDay.setMinExperience(5);
+        assertThat(ids(index.search(byDay))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void reindexedAndRemovedDoctorsLeaveNoStaleMatches() {
+        index.index(doctor(1L, "Priya", "Sharma", User.Gender.FEMALE, Doctor.Specialization.CARDIOLOGY, 500.0, 12,
+                EnumSet.of(Doctor.DayOfWeek.MONDAY)));
+        index.index(doctor(2L, "Neha", "Rao", User.Gender.FEMALE, Doctor.Specialization.CARDIOLOGY, 500.0, 12,
+                EnumSet.of(Doctor.DayOfWeek.MONDAY)));
+
+        index.index(doctor(1L, "Priya", "Sharma", User.Gender.FEMALE, Doctor.Specialization.DERMATOLOGY, 500.0, 12,
+                EnumSet.of(Doctor.DayOfWeek.SATURDAY)));
+        index.remove(2L);
+
+        DoctorSearchRequest cardiology = new DoctorSearchRequest();
+        cardiology.setSpecialization(Doctor.Specialization.CARDIOLOGY);
+        assertThat(ids(index.search(cardiology))).isEmpty();
+        assertThat(ids(search("neha"))).isEmpty();
+        assertThat(search("").dayFacets()).isEqualTo(Map.of(Doctor.DayOfWeek.SATURDAY, 1));
+        assertThat(index.suggest("ne", 10)).doesNotContain("neha");
+    }
+
+    @Test
+    void pagesFollowDoctorIds() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(doctor(id, "Kavya", "Iyer", User.Gender.FEMALE, Doctor.Specialization.PEDIATRICS, 400.0, 3,
+                    EnumSet.of(Doctor.DayOfWeek.MONDAY)));
+        }
+
+        DoctorSearchRequest request = new DoctorSearchRequest();
+        request.setQ("kavya");
+        request.setOffset(1);
+        request.setLimit(2);
+        DoctorSearchResponse response = index.search(request);
+
+        assertThat(ids(response)).containsExactly(2L, 3L);
+        assertThat(response.total()).isEqualTo(5);
+    }
+
+    private DoctorSearchResponse search(String q) {
+        DoctorSearchRequest request = new DoctorSearchRequest();
+        request.setQ(q);
+        return index.search(request);
+    }
+
+    private static Iterable<Long> ids(DoctorSearchResponse response) {
+        return response.doctors().stream().map(DoctorView::id).toList();
+    }
+
+    private static DoctorView doctor(Long id, String firstName, String lastName, User.Gender gender,
+                                     Doctor.Specialization specialization, Double fees, Integer experience,
+                                     Set<Doctor.DayOfWeek> days) {
+        return new DoctorView(id, 100 + id, firstName, lastName, firstName.toLowerCase() + "@x.com", "1234567890",
+                gender, specialization, fees, experience, "MBBS", "Consultant", days, Set.of("09:00-10:00"));
+    }
+}
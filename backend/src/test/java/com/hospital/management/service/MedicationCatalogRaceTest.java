@@ -0,0 +1,86 @@
+package com.hospital.management.service;
+
+import com.hospital.management.model.MedicationCatalog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Has several transactions add the same new catalog value at once. Each keeps its transaction open
+ * for a moment after resolving, so the later inserts wait on the first one's uncommitted row and
+ * then fail on the unique constraint; every transaction must still commit with the one entry.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-race-test",
+        "spring.datasource.hikari.maximum-pool-size=8",
+        "spring.jpa.show-sql=false",
+        "app.pdf.cache-dir=${java.io.tmpdir}/hms-test-pdf-cache"
+})
+class MedicationCatalogRaceTest {
+    private static final int TRANSACTIONS = 8;
+
+    private static final int VALUES = 20;
+
+    @Autowired
+    private MedicationCatalogService catalogService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentTransactionsAddingOneValueAllCommitWithTheSameEntry() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int v = 0; v < VALUES; v++) {
+            String value = "Racetamol " + v;
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> ids = new ArrayList<>();
+            try (ExecutorService executor = Executors.newFixedThreadPool(TRANSACTIONS)) {
+                for (int t = 0; t < TRANSACTIONS; t++) {
+                    ids.add(executor.submit(() -> {
+                        start.await();
+                        return transaction.execute(status -> {
+                            MedicationCatalogService.Entry entry = catalogService.resolve(MedicationCatalog.Kind.DRUG, value);
+                            sleep(20);
+                            return entry.id();
+                        });
+                    }));
+                }
+                start.countDown();
+
+                Set<Long> distinct = new HashSet<>();
+                for (Future<Long> id : ids) {
+                    distinct.add(id.get());
+                }
+                assertThat(distinct).hasSize(1);
+            }
+
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM medication_catalog WHERE normalized_name = ?",
+                    Long.class, value.toLowerCase())).isEqualTo(1);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.hospital.management.service;
+
+import com.hospital.management.TestData;
+import com.hospital.management.dto.CatalogSuggestion;
+import com.hospital.management.dto.PrescriptionRequest;
+import com.hospital.management.model.Appointment;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.model.MedicationCatalog;
+import com.hospital.management.model.Patient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A single pooled connection: a catalog insert that needed a second one would time out
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-test",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=5000",
+        "spring.jpa.show-sql=false",
+        "app.pdf.cache-dir=${java.io.tmpdir}/hms-test-pdf-cache"
+})
+@Import(TestData.class)
+class MedicationCatalogServiceTest {
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private MedicationCatalogService catalogService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void newValuesAreInsertedOnTheCallersConnection() {
+        Doctor doctor = testData.doctor();
+
+        PrescriptionService.Result result = prescribe(doctor, LocalTime.of(9, 0), "Zolmitriptan", "2.5 mg");
+
+        assertThat(result.outcome()).isEqualTo(PrescriptionService.Outcome.CREATED);
+        assertThat(catalogService.suggest(MedicationCatalog.Kind.DRUG, "zolmi", 5))
+                .extracting(CatalogSuggestion::name).containsExactly("Zolmitriptan");
+    }
+
+    @Test
+    void prescriberSpellingIsKeptAndLinkedToOneEntry() {
+        Doctor doctor = testData.doctor();
+
+        prescribe(doctor, LocalTime.of(10, 0), "Nebivolol", "5 mg");
+        prescribe(doctor, LocalTime.of(11, 0), "NEBIVOLOL", "5 MG");
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT m.name, m.dosage, m.catalog_id, m.dosage_catalog_id, " +
+                "m.frequency_catalog_id, m.duration_catalog_id " +
+                "FROM medications m JOIN prescriptions p ON p.id = m.prescription_id " +
+                "WHERE p.doctor_id = ? ORDER BY m.id", doctor.getId());
+        assertThat(rows).extracting(row -> row.get("NAME")).containsExactly("Nebivolol", "NEBIVOLOL");
+        assertThat(rows).extracting(row -> row.get("DOSAGE")).containsExactly("5 mg", "5 MG");
+        for (String column : List.of("CATALOG_ID", "DOSAGE_CATALOG_ID", "FREQUENCY_CATALOG_ID", "DURATION_CATALOG_ID")) {
+            assertThat(rows.get(0).get(column)).isNotNull();
+            assertThat(rows.get(1).get(column)).isEqualTo(rows.get(0).get(column));
+        }
+    }
+
+    @Test
+    void entryOfRolledBackTransactionIsForgotten() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            catalogService.resolve(MedicationCatalog.Kind.DRUG, "Rolledbackamine");
+            status.setRollbackOnly();
+        });
+
+        assertThat(catalogService.suggest(MedicationCatalog.Kind.DRUG, "rolledback", 5)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM medication_catalog WHERE normalized_name = ?",
+                Long.class, "rolledbackamine")).isZero();
+    }
+
+    private PrescriptionService.Result prescribe(Doctor doctor, LocalTime time, String drug, String dosage) {
+        Patient patient = testData.patient();
+        Appointment appointment = testData.appointment(patient, doctor, LocalDate.of(2026, 1, 5), time,
+                Appointment.AppointmentStatus.COMPLETED);
+
+        PrescriptionRequest.MedicationDto medication = new PrescriptionRequest.MedicationDto();
+        medication.setName(drug);
+        medication.setDosage(dosage);
+        medication.setFrequency("Once daily");
+        medication.setDuration("30 days");
+        PrescriptionRequest request = new PrescriptionRequest();
+        request.setAppointmentId(appointment.getId());
+        request.setDiagnosis("Hypertension");
+        request.setMedications(List.of(medication));
+        return prescriptionService.create(doctor.getUser().getId(), request);
+    }
+}
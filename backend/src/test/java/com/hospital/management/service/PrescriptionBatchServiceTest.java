@@ -0,0 +1,127 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.PrescriptionDocumentRow;
+import com.hospital.management.dto.PrescriptionView;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.repository.PrescriptionRepository;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PrescriptionBatchServiceTest {
+    @TempDir
+    Path cacheDir;
+
+    private final PrescriptionPdfRenderer renderer =
+            new PrescriptionPdfRenderer(new PrescriptionPdfRenderer.Branding("Test Hospital", "", "", null));
+
+    private final PrescriptionRepository repository = mock(PrescriptionRepository.class);
+
+    private PrescriptionPdfService pdfService;
+
+    private PrescriptionBatchService batchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pdfService = new PrescriptionPdfService();
+        ReflectionTestUtils.setField(pdfService, "cacheDir", cacheDir);
+        ReflectionTestUtils.setField(pdfService, "renderThreads", 1);
+        ReflectionTestUtils.setField(pdfService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(pdfService, "timeoutMs", 10_000L);
+        ReflectionTestUtils.setField(pdfService, "prescriptionRepository", repository);
+        ReflectionTestUtils.setField(pdfService, "renderer", renderer);
+        ReflectionTestUtils.setField(pdfService, "meterRegistry", new SimpleMeterRegistry());
+        pdfService.init();
+
+        batchService = new PrescriptionBatchService();
+        ReflectionTestUtils.setField(batchService, "prescriptionRepository", repository);
+        ReflectionTestUtils.setField(batchService, "renderer", renderer);
+        ReflectionTestUtils.setField(batchService, "pdfService", pdfService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pdfService.destroy();
+    }
+
+    @Test
+    void zipDoesNotReuseDocumentCachedForEarlierPrescriptionWithSameId() throws Exception {
+        PrescriptionDocumentRow earlier = row(1L, "Pat", "One", "Lupus", LocalDateTime.of(2026, 1, 5, 10, 0));
+        PrescriptionDocumentRow current = row(1L, "Other", "Person", "Migraine", LocalDateTime.of(2026, 2, 9, 15, 30));
+        pdfService.getPdf(earlier.toView());
+
+        Map<String, byte[]> entries = zip(current);
+
+        assertThat(text(entries.get("prescription_1.pdf"))).contains("Other Person", "Migraine")
+                .doesNotContain("Pat One", "Lupus");
+    }
+
+    @Test
+    void zipReusesCachedDocumentOfUnchangedPrescription() throws Exception {
+        PrescriptionDocumentRow row = row(1L, "Pat", "One", "Lupus", LocalDateTime.of(2026, 1, 5, 10, 0));
+        PrescriptionView view = row.toView();
+        view.medications().add(row.toMedication());
+        PrescriptionPdfService.RenderedPdf cached = pdfService.getPdf(view);
+
+        Map<String, byte[]> entries = zip(row);
+
+        assertThat(entries.get("prescription_1.pdf")).isEqualTo(Files.readAllBytes(cached.file()));
+    }
+
+    private Map<String, byte[]> zip(PrescriptionDocumentRow... rows) throws Exception {
+        when(repository.streamForDocuments(any(), any(), any(), any(), any(), any())).thenReturn(Stream.of(rows));
+        when(repository.findViewById(any())).thenReturn(Optional.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batchService.writeBatch(new PrescriptionBatchService.Filter(null, null, null, null, null, null),
+                PrescriptionBatchService.Format.ZIP, out);
+
+        Map<String, byte[]> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private static PrescriptionDocumentRow row(Long id, String firstName, String lastName, String diagnosis,
+                                               LocalDateTime createdAt) {
+        return new PrescriptionDocumentRow(id, 100L, 10L, 1010L, firstName, lastName, 5L, 1005L, "Asha", "Iyer",
+                Doctor.Specialization.GENERAL_MEDICINE, diagnosis, null, LocalDate.of(2026, 3, 1), false, createdAt,
+                1L, "Paracetamol", "500mg", "Thrice daily", "5 days", null);
+    }
+
+    private static String text(byte[] pdf) throws IOException {
+        PdfReader reader = new PdfReader(pdf);
+        try {
+            return PdfTextExtractor.getTextFromPage(reader, 1);
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.hospital.management.service;
+
+import com.hospital.management.dto.MedicationView;
+import com.hospital.management.dto.PrescriptionView;
+import com.hospital.management.model.Doctor;
+import com.hospital.management.repository.PrescriptionRepository;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PrescriptionPdfServiceTest {
+    @TempDir
+    Path cacheDir;
+
+    private final PrescriptionPdfRenderer renderer =
+            new PrescriptionPdfRenderer(new PrescriptionPdfRenderer.Branding("Test Hospital", "", "", null));
+
+    @Test
+    void reusedIdWithDifferentContentRendersNewDocument() throws Exception {
+        PrescriptionRepository firstDatabase = mock(PrescriptionRepository.class);
+        when(firstDatabase.findViewById(1L)).thenReturn(Optional.of(
+                prescription(1L, 10L, "Pat", "One", "Lupus", LocalDateTime.of(2026, 1, 5, 10, 0))));
+        PrescriptionPdfService beforeRestart = service(firstDatabase);
+        PrescriptionPdfService.RenderedPdf first = beforeRestart.getPdf(1L);
+        String firstText = text(first.file());
+        beforeRestart.destroy();
+
+        // The in-memory database starts over and hands out id 1 again, the disk cache survives
+        PrescriptionRepository secondDatabase = mock(PrescriptionRepository.class);
+        when(secondDatabase.findViewById(1L)).thenReturn(Optional.of(
+                prescription(1L, 20L, "Other", "Person", "Migraine", LocalDateTime.of(2026, 2, 9, 15, 30))));
+        PrescriptionPdfService afterRestart = service(secondDatabase);
+        PrescriptionPdfService.RenderedPdf second = afterRestart.getPdf(1L);
+        afterRestart.destroy();
+
+        assertThat(second.hash()).isNotEqualTo(first.hash());
+        assertThat(text(second.file())).contains("Other Person", "Migraine").doesNotContain("Pat One", "Lupus");
+        assertThat(firstText).contains("Pat One", "Lupus");
+        // The document of the vanished prescription is not kept
+        assertThat(first.file()).doesNotExist();
+    }
+
+    @Test
+    void unchangedPrescriptionIsServedFromCache() throws Exception {
+        PrescriptionRepository repository = mock(PrescriptionRepository.class);
+        when(repository.findViewById(1L)).thenReturn(Optional.of(
+                prescription(1L, 10L, "Pat", "One", "Lupus", LocalDateTime.of(2026, 1, 5, 10, 0))));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PrescriptionPdfService service = service(repository, registry);
+
+        PrescriptionPdfService.RenderedPdf first = service.getPdf(1L);
+        PrescriptionPdfService.RenderedPdf second = service.getPdf(1L);
+        service.destroy();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(registry.get("pdf.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void editedPrescriptionIsNotServedFromCache() throws Exception {
+        PrescriptionView original = prescription(1L, 10L, "Pat", "One", "Lupus", LocalDateTime.of(2026, 1, 5, 10, 0));
+        PrescriptionView edited = prescription(1L, 10L, "Pat", "One", "Lupus", LocalDateTime.of(2026, 1, 5, 10, 0));
+        edited.medications().add(new MedicationView(2L, 1L, "Ibuprofen", "400mg", "Twice daily", "3 days", null));
+        PrescriptionPdfService service = service(mock(PrescriptionRepository.class));
+
+        PrescriptionPdfService.RenderedPdf first = service.getPdf(original);
+
+        assertThat(service.findCached(original)).isEqualTo(first);
+        assertThat(service.findCached(edited)).isNull();
+        service.destroy();
+    }
+
+    @Test
+    void documentOfEarlierContentIsDeletedWhenTheNewOneIsRendered() throws Exception {
+        PrescriptionView original = prescription(1L, 10L, "Pat", "One", "Lupus", LocalDateTime.of(2026, 1, 5, 10, 0));
+        PrescriptionView edited = prescription(1L, 10L, "Pat", "One", "Lupus", LocalDateTime.of(2026, 1, 5, 10, 0));
+        edited.medications().add(new MedicationView(2L, 1L, "Ibuprofen", "400mg", "Twice daily", "3 days", null));
+        PrescriptionView other = prescription(2L, 10L, "Pat", "One", "Asthma", LocalDateTime.of(2026, 1, 6, 10, 0));
+        PrescriptionPdfService service = service(mock(PrescriptionRepository.class));
+
+        PrescriptionPdfService.RenderedPdf first = service.getPdf(original);
+        PrescriptionPdfService.RenderedPdf unrelated = service.getPdf(other);
+        PrescriptionPdfService.RenderedPdf second = service.getPdf(edited);
+        service.destroy();
+
+        assertThat(first.file()).doesNotExist();
+        assertThat(second.file()).exists();
+        assertThat(unrelated.file()).exists();
+        assertThat(service.findCached(original)).isNull();
+        assertThat(service.findCached(edited)).isEqualTo(second);
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(2);
+        }
+    }
+
+    private PrescriptionPdfService service(PrescriptionRepository repository) throws IOException {
+        return service(repository, new SimpleMeterRegistry());
+    }
+
+    private PrescriptionPdfService service(PrescriptionRepository repository, SimpleMeterRegistry registry)
+            throws IOException {
+        PrescriptionPdfService service = new PrescriptionPdfService();
+        ReflectionTestUtils.setField(service, "cacheDir", cacheDir);
+        ReflectionTestUtils.setField(service, "renderThreads", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 10);
+        ReflectionTestUtils.setField(service, "timeoutMs", 10_000L);
+        ReflectionTestUtils.setField(service, "prescriptionRepository", repository);
+        ReflectionTestUtils.setField(service, "renderer", renderer);
+        ReflectionTestUtils.setField(service, "meterRegistry", registry);
+        service.init();
+        return service;
+    }
+
+    private static PrescriptionView prescription(Long id, Long patientId, String firstName, String lastName,
+                                                 String diagnosis, LocalDateTime createdAt) {
+        PrescriptionView view = new PrescriptionView(id, 100L, patientId, patientId + 1000, firstName, lastName,
+                5L, 1005L, "Asha", "Iyer", Doctor.Specialization.GENERAL_MEDICINE, diagnosis, null,
+                LocalDate.of(2026, 3, 1), false, createdAt);
+        view.medications().add(new MedicationView(1L, id, "Paracetamol", "500mg", "Thrice daily", "5 days", null));
+        return view;
+    }
+
+    private static String text(Path pdf) throws IOException {
+        PdfReader reader = new PdfReader(Files.readAllBytes(pdf));
+        try {
+            return PdfTextExtractor.getTextFromPage(reader, 1);
+        } finally {
+            reader.close();
+        }
+    }
+}
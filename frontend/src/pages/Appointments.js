@@ -27,9 +27,25 @@ import { format } from 'date-fns';
 import { appointmentService } from '../services/api';
 import { isPatient, isDoctor } from '../utils/auth';
 
+const PAGE_SIZE = 50;
+
+// Server-side filters of the Upcoming, Completed and Cancelled tabs
+const tabFilters = (tab) => {
+  switch (tab) {
+    case 0:
+      return { status: 'SCHEDULED', from: format(new Date(), 'yyyy-MM-dd') };
+    case 1:
+      return { status: 'COMPLETED' };
+    default:
+      return { status: 'CANCELLED_BY_PATIENT,CANCELLED_BY_DOCTOR' };
+  }
+};
+
 const Appointments = () => {
   const navigate = useNavigate();
   const [appointments, setAppointments] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [tabValue, setTabValue] = useState(0);
@@ -41,22 +57,54 @@ const Appointments = () => {
   const isUserDoctor = isDoctor();
 
   useEffect(() => {
+    // Responses for a tab the user has already left are dropped
+    let current = true;
     const fetchAppointments = async () => {
       try {
         setLoading(true);
-        const response = await appointmentService.getAppointments();
-        setAppointments(response.data);
-        setError(null);
+        setAppointments([]);
+        setNextCursor(null);
+        const response = await appointmentService.getAppointments({ ...tabFilters(tabValue), size: PAGE_SIZE });
+        if (current) {
+          setAppointments(response.data.items);
+          setNextCursor(response.data.nextCursor);
+          setError(null);
+        }
       } catch (err) {
-        setError('Failed to fetch appointments. Please try again later.');
+        if (current) {
+          setError('Failed to fetch appointments. Please try again later.');
+        }
         console.error('Error fetching appointments:', err);
       } finally {
-        setLoading(false);
+        if (current) {
+          setLoading(false);
+        }
       }
     };
 
     fetchAppointments();
-  }, []);
+    return () => {
+      current = false;
+    };
+  }, [tabValue]);
+
+  const handleLoadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await appointmentService.getAppointments({
+        ...tabFilters(tabValue),
+        size: PAGE_SIZE,
+        cursor: nextCursor,
+      });
+      setAppointments((loaded) => [...loaded, ...response.data.items]);
+      setNextCursor(response.data.nextCursor);
+    } catch (err) {
+      setError('Failed to fetch appointments. Please try again later.');
+      console.error('Error fetching appointments:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   const handleTabChange = (event, newValue) => {
     setTabValue(newValue);
@@ -77,15 +125,8 @@ const Appointments = () => {
         await appointmentService.doctorCancelAppointment(selectedAppointment.id);
       }
       
-      // Update the appointment status in the local state
-      setAppointments(appointments.map(app => 
-        app.id === selectedAppointment.id 
-          ? { 
-              ...app, 
-              status: isUserPatient ? 'CANCELLED_BY_PATIENT' : 'CANCELLED_BY_DOCTOR' 
-            } 
-          : app
-      ));
+      // A cancelled appointment no longer belongs to the Upcoming tab
+      setAppointments(appointments.filter(app => app.id !== selectedAppointment.id));
       
       setCancelDialogOpen(false);
       setSelectedAppointment(null);
@@ -102,12 +143,8 @@ const Appointments = () => {
       setActionLoading(true);
       await appointmentService.completeAppointment(appointmentId);
       
-      // Update the appointment status in the local state
-      setAppointments(appointments.map(app => 
-        app.id === appointmentId 
-          ? { ...app, status: 'COMPLETED' } 
-          : app
-      ));
+      // A completed appointment moves to the Completed tab
+      setAppointments(appointments.filter(app => app.id !== appointmentId));
     } catch (err) {
       setError('Failed to complete appointment. Please try again later.');
       console.error('Error completing appointment:', err);
@@ -116,22 +153,6 @@ const Appointments = () => {
     }
   };
 
-  const filteredAppointments = () => {
-    switch (tabValue) {
-      case 0: // Upcoming
-        return appointments.filter(app => app.status === 'SCHEDULED');
-      case 1: // Completed
-        return appointments.filter(app => app.status === 'COMPLETED');
-      case 2: // Cancelled
-        return appointments.filter(app => 
-          app.status === 'CANCELLED_BY_PATIENT' || 
-          app.status === 'CANCELLED_BY_DOCTOR'
-        );
-      default:
-        return appointments;
-    }
-  };
-
   const getStatusChip = (status) => {
     switch (status) {
       case 'SCHEDULED':
@@ -147,14 +168,6 @@ const Appointments = () => {
     }
   };
 
-  if (loading) {
-    return (
-      <Box sx={{ display: 'flex', justifyContent: 'center', mt: 8 }}>
-        <CircularProgress />
-      </Box>
-    );
-  }
-
   return (
     <Container maxWidth="lg" sx={{ py: 8 }}>
       <Typography variant="h4" component="h1" gutterBottom>
@@ -175,10 +188,14 @@ const Appointments = () => {
         </Tabs>
       </Box>
 
-      {appointments.length === 0 ? (
+      {loading ? (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 8 }}>
+          <CircularProgress />
+        </Box>
+      ) : appointments.length === 0 ? (
         <Alert severity="info">
-          You don't have any appointments yet.
-          {isUserPatient && (
+          No appointments in this category.
+          {isUserPatient && tabValue === 0 && (
             <Button
               color="primary"
               onClick={() => navigate('/doctors')}
@@ -188,8 +205,6 @@ const Appointments = () => {
             </Button>
           )}
         </Alert>
-      ) : filteredAppointments().length === 0 ? (
-        <Alert severity="info">No appointments in this category.</Alert>
       ) : (
         <TableContainer component={Paper}>
           <Table>
@@ -205,7 +220,7 @@ const Appointments = () => {
               </TableRow>
             </TableHead>
             <TableBody>
-              {filteredAppointments().map((appointment) => (
+              {appointments.map((appointment) => (
                 <TableRow key={appointment.id}>
                   <TableCell>
                     {format(new Date(appointment.appointmentDate), 'MMM dd, yyyy')}
@@ -213,12 +228,12 @@ const Appointments = () => {
                   <TableCell>{appointment.appointmentTime}</TableCell>
                   {isUserPatient && (
                     <TableCell>
-                      Dr. {appointment.doctor.user.firstName} {appointment.doctor.user.lastName}
+                      Dr. {appointment.doctorFirstName} {appointment.doctorLastName}
                     </TableCell>
                   )}
                   {isUserDoctor && (
                     <TableCell>
-                      {appointment.patient.user.firstName} {appointment.patient.user.lastName}
+                      {appointment.patientFirstName} {appointment.patientLastName}
                     </TableCell>
                   )}
                   <TableCell>{appointment.reason}</TableCell>
@@ -265,6 +280,14 @@ const Appointments = () => {
         </TableContainer>
       )}
 
+      {!loading && nextCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 3 }}>
+          <Button variant="outlined" onClick={handleLoadMore} disabled={loadingMore}>
+            {loadingMore ? <CircularProgress size={24} /> : 'Load More'}
+          </Button>
+        </Box>
+      )}
+
       <Dialog
         open={cancelDialogOpen}
         onClose={() => setCancelDialogOpen(false)}
@@ -163,13 +163,13 @@ const BookAppointment = () => {
             <Box
               component="img"
               src={`https://source.unsplash.com/random/200x200/?doctor,${doctor.id}`}
-              alt={`Dr. ${doctor.user?.firstName} ${doctor.user?.lastName}`}
+              alt={`Dr. ${doctor.firstName} ${doctor.lastName}`}
               sx={{ width: '100%', borderRadius: 2 }}
             />
           </Grid>
           <Grid item xs={12} sm={8}>
             <Typography variant="h5" gutterBottom>
-              Dr. {doctor.user?.firstName} {doctor.user?.lastName}
+              Dr. {doctor.firstName} {doctor.lastName}
             </Typography>
             <Chip
               label={formatSpecialization(doctor.specialization)}
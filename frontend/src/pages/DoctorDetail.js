@@ -122,11 +122,11 @@ const DoctorDetail = () => {
               component="img"
               height="300"
               image={`https://source.unsplash.com/random/400x300/?doctor,${doctor.id}`}
-              alt={`Dr. ${doctor.user?.firstName} ${doctor.user?.lastName}`}
+              alt={`Dr. ${doctor.firstName} ${doctor.lastName}`}
             />
             <CardContent>
               <Typography gutterBottom variant="h5" component="h2">
-                Dr. {doctor.user?.firstName} {doctor.user?.lastName}
+                Dr. {doctor.firstName} {doctor.lastName}
               </Typography>
               <Chip
                 label={formatSpecialization(doctor.specialization)}
@@ -129,11 +129,11 @@ const Doctors = () => {
                   component="img"
                   height="200"
                   image={`https://source.unsplash.com/random/300x200/?doctor,${doctor.id}`}
-                  alt={`Dr. ${doctor.user.firstName} ${doctor.user.lastName}`}
+                  alt={`Dr. ${doctor.firstName} ${doctor.lastName}`}
                 />
                 <CardContent sx={{ flexGrow: 1 }}>
                   <Typography gutterBottom variant="h5" component="h2">
-                    Dr. {doctor.user.firstName} {doctor.user.lastName}
+                    Dr. {doctor.firstName} {doctor.lastName}
                   </Typography>
                   <Chip 
                     label={formatSpecialization(doctor.specialization)} 
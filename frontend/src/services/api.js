@@ -59,7 +59,8 @@ export const doctorService = {
 
 // Appointment services
 export const appointmentService = {
-  getAppointments: () => api.get('/appointments'),
+  // Returns one page { items, nextCursor }; pass nextCursor back as cursor for the next one
+  getAppointments: (params) => api.get('/appointments', { params }),
   getAppointmentById: (id) => api.get(`/appointments/${id}`),
   bookAppointment: (appointmentData) => api.post('/appointments', appointmentData),
   cancelAppointment: (id) => api.put(`/appointments/${id}/cancel`),